@@ -1,5 +1,6 @@
 plugins {
     id("fabric-loom")
+    id("me.champeau.jmh")
 }
 
 version = "${property("mod.version")}+${stonecutter.current.version}"
@@ -30,6 +31,37 @@ dependencies {
     // Optional dependencies - ModMenu
     modRuntimeOnly("com.terraformersmc:modmenu:${property("deps.modmenu")}")
     modCompileOnly("com.terraformersmc:modmenu:${property("deps.modmenu")}")
+    
+    // Unit tests for classes that run without a game window
+    testImplementation(platform("org.junit:junit-bom:${property("deps.junit")}"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+// Unit tests (src/test/java) cover HUD and session logic that has no
+// Minecraft dependencies at runtime, so `./gradlew test` runs headless.
+sourceSets.named("test") {
+    // Mod classes reference Minecraft types, so tests need the mapped game classpath
+    compileClasspath += sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().runtimeClasspath
+}
+
+// JMH benchmarks (src/jmh/java) for the HUD hot paths. They only touch code
+// that runs without a game window, so `./gradlew jmh` works headless.
+// Results are written as JSON per Minecraft version for comparison.
+sourceSets.named("jmh") {
+    // Mod classes reference Minecraft types, so benchmarks need the mapped game classpath
+    compileClasspath += sourceSets.main.get().compileClasspath
+    runtimeClasspath += sourceSets.main.get().runtimeClasspath
+}
+
+jmh {
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("results/jmh/${stonecutter.current.version}.json")
+    duplicateClassesStrategy = DuplicatesStrategy.EXCLUDE
 }
 
 loom {
@@ -81,6 +113,10 @@ tasks {
         options.release = 21
     }
     
+    test {
+        useJUnitPlatform()
+    }
+    
     jar {
         from("LICENSE") {
             rename { "${it}_${project.property("mod.id")}" }
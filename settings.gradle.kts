@@ -7,6 +7,7 @@ pluginManagement {
     plugins {
         id("fabric-loom") version "1.14-SNAPSHOT"
         id("dev.kikugie.stonecutter") version "0.5.1"
+        id("me.champeau.jmh") version "0.7.3"
     }
 }
 
@@ -0,0 +1,89 @@
+package com.simplefps.config;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Color resolution, position scaling and config parsing (JSON against the
+ * binary cache).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConfigBenchmark {
+	// Same setup as the config file's Gson
+	private static final Gson GSON = new GsonBuilder()
+		.setPrettyPrinting()
+		.registerTypeAdapter(SimpleFPSConfig.class, ConfigFields.typeAdapter())
+		.create();
+	
+	private SimpleFPSConfig config;
+	private String json;
+	private byte[] binary;
+	private int width = 1920;
+	
+	@Setup
+	public void setup() {
+		config = new SimpleFPSConfig();
+		config.referenceWidth = 1920;
+		config.referenceHeight = 1080;
+		config.positionX = 1800; // Right half, so scaling takes the anchored path
+		json = GSON.toJson(config);
+		binary = BinaryConfigStore.encode(config, json.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	@Benchmark
+	public int parseHexColor() {
+		return SimpleFPSConfig.parseHexColor("#3A7FD2");
+	}
+	
+	@Benchmark
+	public int parseShortHexColor() {
+		return SimpleFPSConfig.parseHexColor("#FA0");
+	}
+	
+	/**
+	 * Color getter with an unchanged color (the per-snapshot path).
+	 */
+	@Benchmark
+	public int colorGetterCached() {
+		return config.getTextColorWithAlpha() ^ config.getBackgroundColorWithAlpha();
+	}
+	
+	/**
+	 * Color getter right after the opacity changed, which re-parses the hex string.
+	 */
+	@Benchmark
+	public int colorGetterChanged() {
+		config.textOpacity = config.textOpacity == 100 ? 99 : 100;
+		return config.getTextColorWithAlpha();
+	}
+	
+	@Benchmark
+	public int scaledPosition() {
+		// Alternate window widths like a resize drag
+		width = width == 1920 ? 1280 : 1920;
+		return config.getScaledPositionX(width) + config.getScaledPositionY(1080);
+	}
+	
+	@Benchmark
+	public SimpleFPSConfig parseJson() {
+		return GSON.fromJson(json, SimpleFPSConfig.class);
+	}
+	
+	@Benchmark
+	public SimpleFPSConfig decodeBinary() {
+		return BinaryConfigStore.decode(ByteBuffer.wrap(binary));
+	}
+}
@@ -0,0 +1,83 @@
+package com.simplefps.hud;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Frame recording and the graph's per-sample statistics refresh, fed with
+ * synthetic frame times around 60 FPS with occasional hitches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GraphStatsBenchmark {
+	private static final int FRAME_TIME_COUNT = 1024; // Power of two
+	
+	private final long[] frameTimes = new long[FRAME_TIME_COUNT];
+	private int frameIndex = 0;
+	private long now = 1_000_000_000L;
+	
+	@Setup
+	public void setup() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < FRAME_TIME_COUNT; i++) {
+			long nanos = 16_666_667L + random.nextLong(-2_000_000L, 2_000_000L);
+			if (random.nextInt(100) == 0) {
+				nanos *= 4; // Hitch
+			}
+			frameTimes[i] = nanos;
+		}
+		
+		// Fill the stats window so percentiles scan a realistic histogram
+		FrameTimeRecorder.getStats().setWindowNanos(30_000_000_000L);
+		for (int i = 0; i < 2000; i++) {
+			recordNextFrame();
+		}
+		FPSGraphRenderer.update();
+	}
+	
+	private void recordNextFrame() {
+		now += frameTimes[frameIndex++ & (FRAME_TIME_COUNT - 1)];
+		FrameTimeRecorder.recordFrame(now);
+	}
+	
+	/**
+	 * Cost added to every rendered frame.
+	 */
+	@Benchmark
+	public void recordFrame() {
+		recordNextFrame();
+	}
+	
+	/**
+	 * One 500 ms sample interval of frames, then the graph update that
+	 * pulls the sample and recomputes min/max/avg and percentiles.
+	 */
+	@Benchmark
+	public int sampleIntervalUpdate() {
+		long sequence = FrameTimeRecorder.getIntervalSequence();
+		while (FrameTimeRecorder.getIntervalSequence() == sequence) {
+			recordNextFrame();
+		}
+		FPSGraphRenderer.update();
+		return FPSGraphRenderer.getMinFps();
+	}
+	
+	/**
+	 * Percentile computation alone.
+	 */
+	@Benchmark
+	public long computeStatistics() {
+		FrameTimeStats stats = FrameTimeRecorder.getStats();
+		stats.computeStatistics();
+		return stats.getP99Nanos();
+	}
+}
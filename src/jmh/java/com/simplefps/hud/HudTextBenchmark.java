@@ -0,0 +1,56 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+import com.simplefps.config.SimpleFPSConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * String building for the biome and time clock displays. These run only
+ * when the displayed value changes, so the numbers are per rebuild.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HudTextBenchmark {
+	@Param({"plains", "old_growth_spruce_taiga"})
+	public String biomePath;
+	
+	@Param({"false", "true"})
+	public boolean minimalist;
+	
+	private HudSnapshot.TimeClock timeClock;
+	private int minute = 0;
+	
+	@Setup
+	public void setup() {
+		SimpleFPSConfig config = new SimpleFPSConfig();
+		config.timeClockMinimalist = minimalist;
+		timeClock = HudSnapshot.of(config).timeClock();
+	}
+	
+	@Benchmark
+	public String formatBiomeName() {
+		return BiomeNameCache.formatBiomeName(biomePath);
+	}
+	
+	@Benchmark
+	public String formatTimeDisplay() {
+		minute = (minute + 1) % (24 * 60);
+		return TimeClockRenderer.formatTimeDisplay(minute, 1342, timeClock);
+	}
+	
+	@Benchmark
+	public String getTimeString() {
+		minute = (minute + 1) % (24 * 60);
+		return TimeClockRenderer.getTimeString(minute, false);
+	}
+}
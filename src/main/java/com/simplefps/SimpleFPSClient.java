@@ -1,15 +1,19 @@
 package com.simplefps;
 
+import com.simplefps.config.AsyncConfigWriter;
+import com.simplefps.config.ConfigFileWatcher;
+import com.simplefps.config.ConfigScreens;
 import com.simplefps.config.SimpleFPSConfig;
-import com.simplefps.gui.HudDragScreen;
-import com.simplefps.hud.FPSGraphRenderer;
-import com.simplefps.hud.FPSHudRenderer;
-import com.simplefps.hud.CoordinatesRenderer;
 import com.simplefps.hud.BiomeRenderer;
-import com.simplefps.hud.TimeClockRenderer;
+import com.simplefps.hud.FrameTimeRecorder;
+import com.simplefps.hud.HudPipeline;
+import com.simplefps.session.BenchmarkRunner;
+import com.simplefps.session.SessionRecorder;
 import net.fabricmc.api.ClientModInitializer;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.HudRenderCallback;
 import net.minecraft.client.option.KeyBinding;
 import net.minecraft.util.Identifier;
@@ -28,22 +32,54 @@ public class SimpleFPSClient implements ClientModInitializer {
 	public static KeyBinding configKeyBinding;
 	public static KeyBinding dragKeyBinding;
 	public static KeyBinding reloadKeyBinding;
+	public static KeyBinding benchmarkKeyBinding;
 	
 	@Override
 	public void onInitializeClient() {
+		long initStart = System.nanoTime();
 		LOGGER.info("Initializing SimpleFPS Client");
 		
 		// Load config
 		SimpleFPSConfig.load();
 		
+		// Pick up external edits to simplefps.json without a keypress
+		ConfigFileWatcher.start(SimpleFPSConfig.getConfigPath());
+		
+		// Config saves are written in the background - write anything still queued before exit
+		ClientLifecycleEvents.CLIENT_STOPPING.register(client -> {
+			ConfigFileWatcher.stop();
+			AsyncConfigWriter.flush();
+			SessionRecorder.shutdown();
+		});
+		
 		// Register HUD renderers
 		HudRenderCallback.EVENT.register((context, tickCounter) -> {
-			FPSHudRenderer.render(context, tickCounter);
-			FPSGraphRenderer.renderGraph(context, false);
-			CoordinatesRenderer.render(context, false);
-			BiomeRenderer.render(context, false);
-			TimeClockRenderer.render(context, false);
+			// Runs once per frame - record the frame time before drawing anything
+			long now = System.nanoTime();
+			FrameTimeRecorder.recordFrame(now);
+			SessionRecorder.recordFrame(now);
+			BenchmarkRunner.recordFrame(now);
+			
+			HudPipeline.render(context);
+		});
+		
+		// Client commands (/simplefps profiler, /simplefps session)
+		SimpleFPSCommands.register();
+		
+		// Biome registries are per-server, so drop cached biome names on join and leave
+		ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> BiomeRenderer.clearCache());
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> BiomeRenderer.clearCache());
+		
+		// Optional automatic session recording, one log per world visit
+		ClientPlayConnectionEvents.JOIN.register((handler, sender, client) -> {
+			if (SimpleFPSConfig.getInstance().sessionAutoRecord) {
+				SessionRecorder.start();
+			}
 		});
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> SessionRecorder.stop());
+		
+		// A benchmark only makes sense within one world visit
+		ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> BenchmarkRunner.cancel(client));
 		
 		// Register keybindings (all unbound by default)
 		toggleKeyBinding = KeyBindingHelper.registerKeyBinding(new KeyBinding(
@@ -70,38 +106,50 @@ public class SimpleFPSClient implements ClientModInitializer {
 			SIMPLEFPS_CATEGORY
 		));
 		
-		// Register tick event for keybinding handling
+		benchmarkKeyBinding = KeyBindingHelper.registerKeyBinding(new KeyBinding(
+			"key.simplefps.benchmark",
+			GLFW.GLFW_KEY_UNKNOWN,
+			SIMPLEFPS_CATEGORY
+		));
+		
+		// Register tick event for keybinding handling and HUD refreshes
 		ClientTickEvents.END_CLIENT_TICK.register(client -> {
+			// Tick-rate HUD elements refresh on the next frame
+			HudPipeline.tick();
+			
+			// Benchmarks end on time even when no frame reaches the HUD
+			BenchmarkRunner.tick(client);
+			
 			while (toggleKeyBinding.wasPressed()) {
-				SimpleFPSConfig config = SimpleFPSConfig.getInstance();
+				SimpleFPSConfig config = SimpleFPSConfig.getInstance().copy();
 				config.enabled = !config.enabled;
-				config.save();
+				SimpleFPSConfig.commit(config).save();
 				LOGGER.info("FPS Counter toggled: {}", config.enabled);
 			}
 			
 			while (configKeyBinding.wasPressed()) {
 				if (client.currentScreen == null) {
-					try {
-						Class.forName("me.shedaniel.clothconfig2.api.ConfigBuilder");
-						client.setScreen(com.simplefps.config.ModConfigScreen.createConfigScreen(null));
-					} catch (Throwable e) {
-						client.setScreen(new com.simplefps.config.SimpleFPSConfigScreen(null));
-					}
+					client.setScreen(ConfigScreens.createConfigScreen(null));
 				}
 			}
 			
 			while (dragKeyBinding.wasPressed()) {
 				if (client.currentScreen == null) {
-					client.setScreen(new HudDragScreen(null));
+					client.setScreen(ConfigScreens.createDragScreen(null));
 				}
 			}
 			
 			while (reloadKeyBinding.wasPressed()) {
-				SimpleFPSConfig.reload();
-				LOGGER.info("SimpleFPS config reloaded from file");
+				// Read and parse on the config IO thread instead of the tick thread
+				AsyncConfigWriter.submit(SimpleFPSConfig::reload);
+			}
+			
+			while (benchmarkKeyBinding.wasPressed()) {
+				BenchmarkRunner.toggle(client);
 			}
 		});
 		
 		LOGGER.info("SimpleFPS Client initialized successfully!");
+		LOGGER.debug("onInitializeClient took {} ms", (System.nanoTime() - initStart) / 1_000_000.0);
 	}
 }
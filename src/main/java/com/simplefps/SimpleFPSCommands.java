@@ -0,0 +1,180 @@
+package com.simplefps;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import com.simplefps.hud.HitchDetector;
+import com.simplefps.hud.HudProfiler;
+import com.simplefps.session.SessionExporter;
+import com.simplefps.session.SessionRecorder;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandManager;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Client-side {@code /simplefps} commands.
+ */
+public class SimpleFPSCommands {
+	
+	public static void register() {
+		ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) -> registerCommands(dispatcher));
+	}
+	
+	private static void registerCommands(CommandDispatcher<FabricClientCommandSource> dispatcher) {
+		dispatcher.register(ClientCommandManager.literal("simplefps")
+			.then(ClientCommandManager.literal("profiler")
+				.executes(SimpleFPSCommands::toggleProfiler)
+				.then(ClientCommandManager.literal("reset").executes(SimpleFPSCommands::resetProfiler))
+				.then(ClientCommandManager.literal("print").executes(SimpleFPSCommands::printProfiler)))
+			.then(ClientCommandManager.literal("hitches")
+				.executes(SimpleFPSCommands::listHitches)
+				.then(ClientCommandManager.literal("clear").executes(SimpleFPSCommands::clearHitches)))
+			.then(ClientCommandManager.literal("session")
+				.then(ClientCommandManager.literal("start").executes(SimpleFPSCommands::startSession))
+				.then(ClientCommandManager.literal("stop").executes(SimpleFPSCommands::stopSession))
+				.then(ClientCommandManager.literal("mark").executes(SimpleFPSCommands::markSession))
+				.then(ClientCommandManager.literal("export")
+					.executes(context -> exportSession(context, "csv"))
+					.then(ClientCommandManager.literal("csv").executes(context -> exportSession(context, "csv")))
+					.then(ClientCommandManager.literal("json").executes(context -> exportSession(context, "json"))))));
+	}
+	
+	/**
+	 * /simplefps profiler - shows or hides the HUD cost overlay.
+	 */
+	private static int toggleProfiler(CommandContext<FabricClientCommandSource> context) {
+		boolean enabled = !HudProfiler.isEnabled();
+		HudProfiler.setEnabled(enabled);
+		context.getSource().sendFeedback(Text.translatable(enabled
+			? "simplefps.command.profiler.enabled"
+			: "simplefps.command.profiler.disabled"));
+		if (enabled && !HudProfiler.isAllocationTrackingSupported()) {
+			context.getSource().sendFeedback(Text.translatable("simplefps.command.profiler.noAllocations"));
+		}
+		return 1;
+	}
+	
+	/**
+	 * /simplefps profiler reset - clears the recorded samples.
+	 */
+	private static int resetProfiler(CommandContext<FabricClientCommandSource> context) {
+		HudProfiler.reset();
+		context.getSource().sendFeedback(Text.translatable("simplefps.command.profiler.reset"));
+		return 1;
+	}
+	
+	/**
+	 * /simplefps profiler print - writes the current numbers to chat and the log.
+	 */
+	private static int printProfiler(CommandContext<FabricClientCommandSource> context) {
+		if (!HudProfiler.isEnabled()) {
+			context.getSource().sendError(Text.translatable("simplefps.command.profiler.notRunning"));
+			return 0;
+		}
+		for (String line : HudProfiler.buildReport()) {
+			context.getSource().sendFeedback(Text.literal(line));
+			SimpleFPSClient.LOGGER.info(line);
+		}
+		return 1;
+	}
+	
+	/**
+	 * /simplefps hitches - lists the most recent hitches and what was happening.
+	 */
+	private static int listHitches(CommandContext<FabricClientCommandSource> context) {
+		int count = Math.min(HitchDetector.getRetainedEvents(), 10);
+		if (count == 0) {
+			context.getSource().sendFeedback(Text.translatable("simplefps.command.hitches.none"));
+			return 1;
+		}
+		context.getSource().sendFeedback(Text.translatable("simplefps.command.hitches.header", count));
+		long now = System.nanoTime();
+		for (int age = 0; age < count; age++) {
+			String secondsAgo = String.format("%.1f", (now - HitchDetector.getTimeNanos(age)) / 1_000_000_000.0);
+			String duration = String.format("%.1f", HitchDetector.getDurationNanos(age) / 1_000_000.0);
+			String median = String.format("%.1f", HitchDetector.getMedianNanos(age) / 1_000_000.0);
+			String cause = HitchDetector.describeContext(HitchDetector.getContext(age));
+			context.getSource().sendFeedback(Text.translatable("simplefps.command.hitches.entry", secondsAgo, duration, median, cause));
+			SimpleFPSClient.LOGGER.info("Hitch {}s ago: {} ms (median {} ms) - {}", secondsAgo, duration, median, cause);
+		}
+		return 1;
+	}
+	
+	/**
+	 * /simplefps hitches clear - forgets the recorded hitches.
+	 */
+	private static int clearHitches(CommandContext<FabricClientCommandSource> context) {
+		HitchDetector.clear();
+		context.getSource().sendFeedback(Text.translatable("simplefps.command.hitches.cleared"));
+		return 1;
+	}
+	
+	/**
+	 * /simplefps session start - starts recording every frame time to a log file.
+	 */
+	private static int startSession(CommandContext<FabricClientCommandSource> context) {
+		Path file = SessionRecorder.start();
+		if (file == null) {
+			context.getSource().sendError(Text.translatable("simplefps.command.session.alreadyRecording"));
+			return 0;
+		}
+		context.getSource().sendFeedback(Text.translatable("simplefps.command.session.started", file.getFileName().toString()));
+		return 1;
+	}
+	
+	/**
+	 * /simplefps session stop - stops recording and closes the log.
+	 */
+	private static int stopSession(CommandContext<FabricClientCommandSource> context) {
+		long frames = SessionRecorder.stop();
+		if (frames < 0) {
+			context.getSource().sendError(Text.translatable("simplefps.command.session.notRecording"));
+			return 0;
+		}
+		context.getSource().sendFeedback(Text.translatable("simplefps.command.session.stopped", frames));
+		return 1;
+	}
+	
+	/**
+	 * /simplefps session mark - adds a numbered marker, e.g. at a route checkpoint.
+	 */
+	private static int markSession(CommandContext<FabricClientCommandSource> context) {
+		int marker = SessionRecorder.mark();
+		if (marker == 0) {
+			context.getSource().sendError(Text.translatable("simplefps.command.session.notRecording"));
+			return 0;
+		}
+		context.getSource().sendFeedback(Text.translatable("simplefps.command.session.marked", marker));
+		return 1;
+	}
+	
+	/**
+	 * /simplefps session export [csv|json] - converts the current or last
+	 * session log. Runs on the session writer thread after pending writes.
+	 */
+	private static int exportSession(CommandContext<FabricClientCommandSource> context, String format) {
+		Path log = SessionRecorder.getCurrentOrLastSessionFile();
+		if (log == null) {
+			context.getSource().sendError(Text.translatable("simplefps.command.session.noSession"));
+			return 0;
+		}
+		FabricClientCommandSource source = context.getSource();
+		SessionRecorder.runAfterWrites(() -> {
+			try {
+				Path output = SessionExporter.export(log, format);
+				MinecraftClient.getInstance().execute(() ->
+					source.sendFeedback(Text.translatable("simplefps.command.session.exported", output.getFileName().toString())));
+			} catch (IOException | RuntimeException e) {
+				// A damaged log or a full disk must not fail silently on the writer thread
+				SimpleFPSClient.LOGGER.error("Failed to export session log {}", log, e);
+				MinecraftClient.getInstance().execute(() ->
+					source.sendError(Text.translatable("simplefps.command.session.exportFailed")));
+			}
+		});
+		return 1;
+	}
+}
@@ -0,0 +1,151 @@
+package com.simplefps.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes config files on a background thread.
+ *
+ * Saves requested within the debounce window are coalesced, so only the
+ * latest content is written. Each write goes to a temp file that is then
+ * moved over the target, so a crash mid-write never leaves a truncated
+ * config behind. Call {@link #flush()} before reading the file back and on
+ * client shutdown.
+ */
+public class AsyncConfigWriter {
+	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Config");
+	private static final long DEBOUNCE_MILLIS = 250;
+	
+	private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SimpleFPS Config Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	
+	// Latest content waiting to be written per file (guarded by AsyncConfigWriter.class)
+	private static final Map<Path, Pending> pending = new LinkedHashMap<>();
+	private static long pendingSequence = 0;
+	private static boolean flushScheduled = false;
+	
+	// Held only while touching the disk, so write() never waits on IO
+	private static final Object IO_LOCK = new Object();
+	private static final Map<Path, Long> writtenSequence = new HashMap<>(); // guarded by IO_LOCK
+	
+	// What this client last put in a text file, so the file watcher can ignore our own writes
+	private static volatile String lastWrittenContent = null;
+	
+	/**
+	 * Content queued for one file. Null bytes mean the file should be deleted.
+	 */
+	private record Pending(byte[] bytes, String text, long sequence) {}
+	
+	/**
+	 * Queues text to be written to the target file. Returns immediately;
+	 * the write happens after the debounce window on the writer thread.
+	 */
+	public static void write(Path target, String content) {
+		enqueue(target, content.getBytes(StandardCharsets.UTF_8), content);
+	}
+	
+	/**
+	 * Queues binary content to be written to the target file.
+	 */
+	public static void write(Path target, byte[] content) {
+		enqueue(target, content, null);
+	}
+	
+	/**
+	 * Queues the target file for deletion, ordered with any writes to it.
+	 */
+	public static void delete(Path target) {
+		enqueue(target, null, null);
+	}
+	
+	private static synchronized void enqueue(Path target, byte[] bytes, String text) {
+		pending.remove(target); // Re-insert so files are written in the order they were last queued
+		pending.put(target, new Pending(bytes, text, ++pendingSequence));
+		if (!flushScheduled) {
+			flushScheduled = true;
+			EXECUTOR.schedule(AsyncConfigWriter::flush, DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	/**
+	 * Writes any pending content now, on the calling thread.
+	 */
+	public static void flush() {
+		List<Map.Entry<Path, Pending>> batch;
+		synchronized (AsyncConfigWriter.class) {
+			flushScheduled = false;
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = new ArrayList<>(pending.entrySet());
+			pending.clear();
+		}
+		
+		synchronized (IO_LOCK) {
+			for (Map.Entry<Path, Pending> entry : batch) {
+				Path target = entry.getKey();
+				Pending content = entry.getValue();
+				if (content.sequence() <= writtenSequence.getOrDefault(target, 0L)) {
+					continue; // A newer save already reached the disk
+				}
+				try {
+					if (content.bytes() == null) {
+						Files.deleteIfExists(target);
+					} else {
+						if (content.text() != null) {
+							lastWrittenContent = content.text();
+						}
+						writeAtomically(target, content.bytes());
+						LOGGER.info("Config successfully saved to {}", target.getFileName());
+					}
+					writtenSequence.put(target, content.sequence());
+				} catch (IOException e) {
+					LOGGER.error("Failed to save config to {}", target.getFileName(), e);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Runs a task on the config IO thread.
+	 */
+	public static void submit(Runnable task) {
+		EXECUTOR.execute(task);
+	}
+	
+	/**
+	 * Gets the content of the last text config write made by this client, or null.
+	 */
+	public static String getLastWrittenContent() {
+		return lastWrittenContent;
+	}
+	
+	private static void writeAtomically(Path target, byte[] content) throws IOException {
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		Files.write(temp, content);
+		try {
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (AtomicMoveNotSupportedException e) {
+			// Some file systems can't rename atomically - fall back to a plain replace
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
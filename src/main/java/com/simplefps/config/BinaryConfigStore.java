@@ -0,0 +1,206 @@
+package com.simplefps.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary copy of the config (simplefps.bin), read at startup
+ * instead of parsing simplefps.json.
+ *
+ * The JSON file stays the human-editable format: it is always written, and
+ * the binary file records the length and CRC-32C of the JSON it was built
+ * from. Unless the JSON on disk matches exactly, the JSON wins and the
+ * binary file is rebuilt from it. Modification times aren't used, since
+ * an edit within the file system's timestamp resolution would tie. Entries
+ * are keyed by option name and length-prefixed, so options added or
+ * removed in later versions are simply skipped.
+ *
+ * Layout (big-endian):
+ * <pre>
+ * int   magic "SFPS"
+ * short format version
+ * int   JSON length in bytes
+ * int   JSON CRC-32C
+ * short entry count
+ * entry: short name length, name (UTF-8), byte type, short value length, value
+ * </pre>
+ */
+public class BinaryConfigStore {
+	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Config");
+	
+	private static final int MAGIC = 0x53465053; // "SFPS"
+	private static final short VERSION = 2;
+	private static final int JSON_LENGTH_OFFSET = 6;
+	private static final int JSON_CRC_OFFSET = 10;
+	private static final int HEADER_SIZE = 16;
+	
+	// Entry types - stored in the file, so never renumber these
+	private static final byte TYPE_BOOLEAN = 0;
+	private static final byte TYPE_INT = 1;
+	private static final byte TYPE_FLOAT = 2;
+	private static final byte TYPE_STRING = 3;
+	
+	/**
+	 * Reads the binary config if it exists and was built from the JSON file
+	 * as it is now. Returns null if the JSON file should be read instead
+	 * (either file missing, JSON edited since, unknown version or corrupt
+	 * binary file).
+	 */
+	public static SimpleFPSConfig readIfCurrent(Path binaryFile, Path jsonFile) {
+		try {
+			if (!Files.exists(binaryFile) || !Files.exists(jsonFile)) {
+				return null;
+			}
+			// Reading a few KB is cheap, it's parsing the JSON that is skipped
+			byte[] json = Files.readAllBytes(jsonFile);
+			
+			ByteBuffer buffer;
+			try (FileChannel channel = FileChannel.open(binaryFile, StandardOpenOption.READ)) {
+				// A few KB at most, so a single read beats mapping (which also
+				// keeps the file locked on Windows until the mapping is collected)
+				buffer = ByteBuffer.allocate((int) channel.size());
+				while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+					// Keep reading until full or EOF
+				}
+				buffer.flip();
+			}
+			if (!isBuiltFrom(buffer, json)) {
+				return null; // JSON was edited since - import it instead
+			}
+			return decode(buffer);
+		} catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+			LOGGER.warn("Failed to read binary config, falling back to JSON", e);
+			return null;
+		}
+	}
+	
+	/**
+	 * Checks whether the buffer holds a binary config built from exactly this
+	 * JSON content. Doesn't move the buffer's position.
+	 */
+	static boolean isBuiltFrom(ByteBuffer buffer, byte[] json) {
+		int start = buffer.position();
+		return buffer.remaining() >= HEADER_SIZE
+			&& buffer.getInt(start) == MAGIC
+			&& buffer.getShort(start + 4) == VERSION
+			&& buffer.getInt(start + JSON_LENGTH_OFFSET) == json.length
+			&& buffer.getInt(start + JSON_CRC_OFFSET) == checksum(json);
+	}
+	
+	/**
+	 * Decodes a binary config. Returns null if the buffer isn't a config of a
+	 * version this build understands.
+	 */
+	static SimpleFPSConfig decode(ByteBuffer buffer) {
+		if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+			return null;
+		}
+		if (buffer.getShort() != VERSION) {
+			return null; // Older files have no JSON fingerprint, newer ones are unknown
+		}
+		buffer.getInt(); // JSON length and checksum, see isBuiltFrom
+		buffer.getInt();
+		
+		SimpleFPSConfig config = new SimpleFPSConfig();
+		int count = Short.toUnsignedInt(buffer.getShort());
+		for (int i = 0; i < count; i++) {
+			String name = readString(buffer, Short.toUnsignedInt(buffer.getShort()));
+			byte type = buffer.get();
+			int length = Short.toUnsignedInt(buffer.getShort());
+			int end = buffer.position() + length;
+			
+			ConfigFields.Descriptor field = ConfigFields.byName(name);
+			if (field != null && type == typeOf(field.kind())) {
+				VarHandle handle = field.handle();
+				switch (field.kind()) {
+					case BOOLEAN -> handle.set(config, buffer.get() != 0);
+					case INT -> handle.set(config, buffer.getInt());
+					case FLOAT -> handle.set(config, buffer.getFloat());
+					case STRING -> handle.set(config, readString(buffer, length));
+				}
+			}
+			buffer.position(end); // Skips unknown entries
+		}
+		return config;
+	}
+	
+	/**
+	 * Encodes a config to the binary format.
+	 * @param json The JSON file content the config was saved as or read from
+	 */
+	public static byte[] encode(SimpleFPSConfig config, byte[] json) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(2048);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(MAGIC);
+			out.writeShort(VERSION);
+			out.writeInt(json.length);
+			out.writeInt(checksum(json));
+			out.writeShort(ConfigFields.all().size());
+			for (ConfigFields.Descriptor field : ConfigFields.all()) {
+				byte[] name = field.name().getBytes(StandardCharsets.UTF_8);
+				out.writeShort(name.length);
+				out.write(name);
+				out.writeByte(typeOf(field.kind()));
+				
+				VarHandle handle = field.handle();
+				switch (field.kind()) {
+					case BOOLEAN -> {
+						out.writeShort(1);
+						out.writeBoolean((boolean) handle.get(config));
+					}
+					case INT -> {
+						out.writeShort(4);
+						out.writeInt((int) handle.get(config));
+					}
+					case FLOAT -> {
+						out.writeShort(4);
+						out.writeFloat((float) handle.get(config));
+					}
+					case STRING -> {
+						String value = (String) handle.get(config);
+						byte[] utf8 = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+						out.writeShort(utf8.length);
+						out.write(utf8);
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("In-memory write failed", e); // Can't happen
+		}
+		return bytes.toByteArray();
+	}
+	
+	private static int checksum(byte[] json) {
+		CRC32C crc = new CRC32C();
+		crc.update(json);
+		return (int) crc.getValue();
+	}
+	
+	private static byte typeOf(ConfigFields.Kind kind) {
+		return switch (kind) {
+			case BOOLEAN -> TYPE_BOOLEAN;
+			case INT -> TYPE_INT;
+			case FLOAT -> TYPE_FLOAT;
+			case STRING -> TYPE_STRING;
+		};
+	}
+	
+	private static String readString(ByteBuffer buffer, int length) {
+		byte[] utf8 = new byte[length];
+		buffer.get(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+}
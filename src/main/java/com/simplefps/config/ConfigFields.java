@@ -0,0 +1,230 @@
+package com.simplefps.config;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Descriptor table of the saved {@link SimpleFPSConfig} options.
+ *
+ * Built once by reflection when the class is first used; after that every
+ * access goes through {@link VarHandle}s. The table drives copying, diffing,
+ * validation and JSON serialization, so adding an option only means
+ * declaring the field (plus a {@link Range} if it is numeric).
+ */
+public class ConfigFields {
+	
+	/**
+	 * HUD element an option belongs to, derived from the field name prefix.
+	 * GENERAL holds options that don't change what any element shows.
+	 */
+	public enum Section {
+		FPS, GRAPH, COORDINATES, BIOME, TIME_CLOCK, MEMORY, LAYOUT, GENERAL
+	}
+	
+	enum Kind { BOOLEAN, INT, FLOAT, STRING }
+	
+	/**
+	 * One saved option.
+	 */
+	record Descriptor(String name, Kind kind, Section section, VarHandle handle, double min, double max) {}
+	
+	private static final List<Descriptor> FIELDS;
+	private static final Map<String, Descriptor> BY_NAME = new HashMap<>();
+	
+	static {
+		List<Descriptor> fields = new ArrayList<>();
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		for (Field field : SimpleFPSConfig.class.getDeclaredFields()) {
+			int modifiers = field.getModifiers();
+			if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || !Modifier.isPublic(modifiers)) {
+				continue;
+			}
+			
+			Kind kind;
+			Class<?> type = field.getType();
+			if (type == boolean.class) kind = Kind.BOOLEAN;
+			else if (type == int.class) kind = Kind.INT;
+			else if (type == float.class) kind = Kind.FLOAT;
+			else if (type == String.class) kind = Kind.STRING;
+			else throw new IllegalStateException("Unsupported config field type: " + field);
+			
+			Range range = field.getAnnotation(Range.class);
+			try {
+				fields.add(new Descriptor(
+					field.getName(),
+					kind,
+					sectionOf(field.getName()),
+					lookup.unreflectVarHandle(field),
+					range != null ? range.min() : -Double.MAX_VALUE,
+					range != null ? range.max() : Double.MAX_VALUE
+				));
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException("Config field not accessible: " + field, e);
+			}
+		}
+		FIELDS = Collections.unmodifiableList(fields);
+		for (Descriptor descriptor : FIELDS) {
+			BY_NAME.put(descriptor.name(), descriptor);
+		}
+	}
+	
+	private static Section sectionOf(String name) {
+		if (name.startsWith("graph")) return Section.GRAPH;
+		if (name.startsWith("coordinates")) return Section.COORDINATES;
+		if (name.startsWith("biome")) return Section.BIOME;
+		if (name.startsWith("timeClock")) return Section.TIME_CLOCK;
+		if (name.startsWith("memory")) return Section.MEMORY;
+		if (name.startsWith("reference")) return Section.LAYOUT;
+		if (name.startsWith("config") || name.startsWith("hud") || name.startsWith("session") || name.startsWith("benchmark")) return Section.GENERAL;
+		return Section.FPS; // The FPS counter options predate the prefixes
+	}
+	
+	/**
+	 * All saved options in declaration order.
+	 */
+	static List<Descriptor> all() {
+		return FIELDS;
+	}
+	
+	/**
+	 * Looks up an option by its JSON name, or null if unknown.
+	 */
+	static Descriptor byName(String name) {
+		return BY_NAME.get(name);
+	}
+	
+	/**
+	 * Copies every saved option from one config to another.
+	 */
+	public static void copy(SimpleFPSConfig from, SimpleFPSConfig to) {
+		for (Descriptor field : FIELDS) {
+			VarHandle handle = field.handle();
+			switch (field.kind()) {
+				case BOOLEAN -> handle.set(to, (boolean) handle.get(from));
+				case INT -> handle.set(to, (int) handle.get(from));
+				case FLOAT -> handle.set(to, (float) handle.get(from));
+				case STRING -> handle.set(to, (String) handle.get(from));
+			}
+		}
+	}
+	
+	/**
+	 * Reports which sections have at least one option that differs.
+	 */
+	public static EnumSet<Section> diff(SimpleFPSConfig a, SimpleFPSConfig b) {
+		EnumSet<Section> changed = EnumSet.noneOf(Section.class);
+		for (Descriptor field : FIELDS) {
+			if (!changed.contains(field.section()) && !isEqual(field, a, b)) {
+				changed.add(field.section());
+			}
+		}
+		return changed;
+	}
+	
+	private static boolean isEqual(Descriptor field, SimpleFPSConfig a, SimpleFPSConfig b) {
+		VarHandle handle = field.handle();
+		return switch (field.kind()) {
+			case BOOLEAN -> (boolean) handle.get(a) == (boolean) handle.get(b);
+			case INT -> (int) handle.get(a) == (int) handle.get(b);
+			case FLOAT -> Float.compare((float) handle.get(a), (float) handle.get(b)) == 0;
+			case STRING -> Objects.equals(handle.get(a), handle.get(b));
+		};
+	}
+	
+	/**
+	 * Clamps numeric options to their {@link Range} and replaces missing
+	 * strings with the default value.
+	 */
+	public static void validate(SimpleFPSConfig config) {
+		SimpleFPSConfig defaults = null; // Only needed for a hand-edited file with missing strings
+		for (Descriptor field : FIELDS) {
+			VarHandle handle = field.handle();
+			switch (field.kind()) {
+				case INT -> {
+					int value = (int) handle.get(config);
+					int clamped = (int) Math.max(field.min(), Math.min(field.max(), value));
+					if (clamped != value) handle.set(config, clamped);
+				}
+				case FLOAT -> {
+					float value = (float) handle.get(config);
+					// NaN fails both comparisons, so treat it as the minimum
+					float clamped = value >= field.min() ? (float) Math.min(value, field.max()) : (float) field.min();
+					if (Float.compare(clamped, value) != 0) handle.set(config, clamped);
+				}
+				case STRING -> {
+					if (handle.get(config) == null) {
+						if (defaults == null) defaults = new SimpleFPSConfig();
+						handle.set(config, (String) handle.get(defaults));
+					}
+				}
+				case BOOLEAN -> {}
+			}
+		}
+	}
+	
+	/**
+	 * Gson adapter that reads and writes the options through the table
+	 * instead of reflection. Unknown keys are skipped, missing keys keep
+	 * their defaults.
+	 */
+	public static TypeAdapter<SimpleFPSConfig> typeAdapter() {
+		return new TypeAdapter<>() {
+			@Override
+			public void write(JsonWriter out, SimpleFPSConfig config) throws IOException {
+				out.beginObject();
+				for (Descriptor field : FIELDS) {
+					out.name(field.name());
+					VarHandle handle = field.handle();
+					switch (field.kind()) {
+						case BOOLEAN -> out.value((boolean) handle.get(config));
+						case INT -> out.value((int) handle.get(config));
+						case FLOAT -> out.value((float) handle.get(config));
+						case STRING -> out.value((String) handle.get(config));
+					}
+				}
+				out.endObject();
+			}
+			
+			@Override
+			public SimpleFPSConfig read(JsonReader in) throws IOException {
+				if (in.peek() == JsonToken.NULL) {
+					in.nextNull();
+					return null;
+				}
+				SimpleFPSConfig config = new SimpleFPSConfig();
+				in.beginObject();
+				while (in.hasNext()) {
+					Descriptor field = BY_NAME.get(in.nextName());
+					if (field == null || in.peek() == JsonToken.NULL) {
+						in.skipValue();
+						continue;
+					}
+					VarHandle handle = field.handle();
+					switch (field.kind()) {
+						case BOOLEAN -> handle.set(config, in.nextBoolean());
+						case INT -> handle.set(config, in.nextInt());
+						case FLOAT -> handle.set(config, (float) in.nextDouble());
+						case STRING -> handle.set(config, in.nextString());
+					}
+				}
+				in.endObject();
+				return config;
+			}
+		};
+	}
+}
@@ -0,0 +1,113 @@
+package com.simplefps.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the config directory and reloads simplefps.json when it is edited
+ * outside the game (text editor, deployment scripts, ...).
+ *
+ * Runs on its own daemon thread: the file is read, parsed and validated
+ * there, and the finished config is published to the render thread with a
+ * single volatile write, so an external edit never stalls a frame.
+ */
+public class ConfigFileWatcher {
+	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Config");
+	
+	// Editors and scripts often write a file in several steps - wait until it has been quiet
+	private static final long DEBOUNCE_MILLIS = 200;
+	
+	private static WatchService watchService;
+	private static Thread thread;
+	
+	/**
+	 * Starts watching the given config file. Does nothing if already running.
+	 */
+	public static synchronized void start(Path configFile) {
+		if (thread != null) {
+			return;
+		}
+		
+		Path directory = configFile.toAbsolutePath().getParent();
+		Path fileName = configFile.getFileName();
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			directory.register(watchService,
+				StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException e) {
+			LOGGER.error("Failed to watch config directory, external edits need the reload key", e);
+			return;
+		}
+		
+		WatchService service = watchService;
+		thread = new Thread(() -> watch(service, fileName), "SimpleFPS Config Watcher");
+		thread.setDaemon(true);
+		thread.start();
+	}
+	
+	/**
+	 * Stops the watcher thread.
+	 */
+	public static synchronized void stop() {
+		if (watchService != null) {
+			try {
+				watchService.close(); // Wakes the thread with ClosedWatchServiceException
+			} catch (IOException e) {
+				LOGGER.warn("Failed to close config watcher", e);
+			}
+			watchService = null;
+		}
+		thread = null;
+	}
+	
+	private static void watch(WatchService service, Path fileName) {
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				boolean changed = drainEvents(key, fileName);
+				if (!key.reset()) {
+					LOGGER.warn("Config directory is no longer accessible, stopped watching it");
+					return;
+				}
+				if (!changed) {
+					continue;
+				}
+				
+				// Wait for the burst of events to settle before reading the file
+				WatchKey next;
+				while ((next = service.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					drainEvents(next, fileName);
+					next.reset();
+				}
+				
+				SimpleFPSConfig.reloadExternalChange();
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Shutting down
+		}
+	}
+	
+	/**
+	 * Consumes the key's pending events. Returns true if any concerned the config file.
+	 */
+	private static boolean drainEvents(WatchKey key, Path fileName) {
+		boolean changed = false;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+				changed = true;
+			}
+		}
+		return changed;
+	}
+}
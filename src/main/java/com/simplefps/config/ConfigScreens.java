@@ -0,0 +1,87 @@
+package com.simplefps.config;
+
+import com.simplefps.SimpleFPSClient;
+import com.simplefps.gui.HudDragScreen;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.gui.screen.Screen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creates the SimpleFPS screens.
+ *
+ * Nothing outside this class references the screen classes directly, so
+ * they (and Cloth Config) are only loaded the first time a screen is
+ * opened instead of during client init. The factories are lambdas rather
+ * than method references for the same reason - a method reference is
+ * resolved when the lambda is created, a lambda body only when it runs.
+ */
+public class ConfigScreens {
+	
+	public enum Type {
+		CLOTH_CONFIG,
+		FALLBACK_CONFIG,
+		HUD_DRAG
+	}
+	
+	private static final Map<Type, Function<Screen, Screen>> FACTORIES = new EnumMap<>(Type.class);
+	
+	static {
+		FACTORIES.put(Type.CLOTH_CONFIG, parent -> ModConfigScreen.createConfigScreen(parent));
+		FACTORIES.put(Type.FALLBACK_CONFIG, parent -> new SimpleFPSConfigScreen(parent));
+		FACTORIES.put(Type.HUD_DRAG, parent -> new HudDragScreen(parent));
+	}
+	
+	// Checked once; cleared if Cloth Config turns out to be incompatible at runtime
+	private static Boolean clothConfigUsable = null;
+	
+	/**
+	 * Creates a screen of the given type.
+	 */
+	public static Screen create(Type type, Screen parent) {
+		return FACTORIES.get(type).apply(parent);
+	}
+	
+	/**
+	 * Creates the config screen, using Cloth Config when it is installed and
+	 * falling back to the built-in screen otherwise.
+	 */
+	public static Screen createConfigScreen(Screen parent) {
+		if (isClothConfigUsable()) {
+			try {
+				SimpleFPSClient.LOGGER.debug("Using Cloth Config for config screen");
+				return create(Type.CLOTH_CONFIG, parent);
+			} catch (Throwable e) {
+				// Cloth Config failed at runtime - don't try it again this session
+				clothConfigUsable = false;
+				SimpleFPSClient.LOGGER.warn("Cloth Config failed at runtime, switching to fallback: {}", e.getMessage());
+			}
+		}
+		
+		SimpleFPSClient.LOGGER.info("Using fallback config screen (Cloth Config unavailable or incompatible)");
+		return create(Type.FALLBACK_CONFIG, parent);
+	}
+	
+	/**
+	 * Creates the HUD drag/positioning screen.
+	 */
+	public static Screen createDragScreen(Screen parent) {
+		return create(Type.HUD_DRAG, parent);
+	}
+	
+	/**
+	 * Whether Cloth Config is installed and hasn't failed this session.
+	 * Asks Fabric Loader's mod list instead of probing for a class, so no
+	 * Cloth Config class is loaded just to find out.
+	 */
+	public static boolean isClothConfigUsable() {
+		if (clothConfigUsable == null) {
+			FabricLoader loader = FabricLoader.getInstance();
+			clothConfigUsable = loader.isModLoaded("cloth-config") || loader.isModLoaded("cloth-config2");
+			SimpleFPSClient.LOGGER.debug("Cloth Config {}", clothConfigUsable ? "found" : "not found");
+		}
+		return clothConfigUsable;
+	}
+}
@@ -0,0 +1,330 @@
+package com.simplefps.config;
+
+import java.util.Set;
+
+/**
+ * Immutable view of the config as the HUD renderers need it.
+ *
+ * A new snapshot is built whenever the config is committed, loaded or
+ * reloaded and published through a volatile reference, so the render thread
+ * always reads one consistent set of values and never sees a half-applied
+ * edit. Colors are resolved to ARGB once when the snapshot is built.
+ * Element records are shared between snapshots while their options are
+ * unchanged, so renderers can compare their element's identity to know when
+ * derived values need recomputing.
+ *
+ * @param hudCache Whether the HUD pipeline may replay the last drawn frame while nothing changed
+ */
+public record HudSnapshot(
+	Fps fps,
+	Graph graph,
+	TextElement coordinates,
+	TextElement biome,
+	TimeClock timeClock,
+	TextElement memory,
+	Layout layout,
+	boolean hudCache
+) {
+	
+	/**
+	 * Builds a snapshot from the current field values of a config.
+	 */
+	public static HudSnapshot of(SimpleFPSConfig config) {
+		return new HudSnapshot(fps(config), graph(config), coordinates(config), biome(config), timeClock(config), memory(config), layout(config), config.hudCacheEnabled);
+	}
+	
+	/**
+	 * Builds a snapshot that reuses the element records of a previous one
+	 * for every section not in {@code changed}. Renderers that compare their
+	 * element's record identity then only invalidate when their own options
+	 * changed.
+	 */
+	public static HudSnapshot update(HudSnapshot previous, SimpleFPSConfig config, Set<ConfigFields.Section> changed) {
+		if (previous == null) {
+			return of(config);
+		}
+		return new HudSnapshot(
+			changed.contains(ConfigFields.Section.FPS) ? fps(config) : previous.fps,
+			changed.contains(ConfigFields.Section.GRAPH) ? graph(config) : previous.graph,
+			changed.contains(ConfigFields.Section.COORDINATES) ? coordinates(config) : previous.coordinates,
+			changed.contains(ConfigFields.Section.BIOME) ? biome(config) : previous.biome,
+			changed.contains(ConfigFields.Section.TIME_CLOCK) ? timeClock(config) : previous.timeClock,
+			changed.contains(ConfigFields.Section.MEMORY) ? memory(config) : previous.memory,
+			changed.contains(ConfigFields.Section.LAYOUT) ? layout(config) : previous.layout,
+			config.hudCacheEnabled
+		);
+	}
+	
+	private static Fps fps(SimpleFPSConfig config) {
+		return new Fps(
+			new TextElement(
+				config.enabled,
+				config.positionX,
+				config.positionY,
+				config.textSize,
+				config.getTextColorWithAlpha(),
+				config.showBackground && config.backgroundOpacity > 0,
+				config.getBackgroundColorWithAlpha(),
+				config.refreshInterval
+			),
+			config.showLabel,
+			config.showDirection,
+			config.adaptiveColorEnabled,
+			config.lowFpsThreshold,
+			config.highFpsThreshold,
+			config.hitchMultiplier,
+			config.hitchFlash
+		);
+	}
+	
+	private static Graph graph(SimpleFPSConfig config) {
+		return new Graph(
+			config.graphEnabled,
+			config.graphX,
+			config.graphY,
+			config.graphScale,
+			config.graphShowBackground,
+			config.graphShowPercentiles,
+			config.graphStatsWindow,
+			config.graphLineMode,
+			config.graphHitchMarkers,
+			config.graphGcMarkers,
+			config.graphLowFpsThreshold,
+			config.graphHighFpsThreshold
+		);
+	}
+	
+	private static TextElement coordinates(SimpleFPSConfig config) {
+		return new TextElement(
+			config.coordinatesEnabled,
+			config.coordinatesX,
+			config.coordinatesY,
+			config.coordinatesTextSize,
+			config.getCoordinatesTextColorWithAlpha(),
+			config.coordinatesShowBackground && config.coordinatesBackgroundOpacity > 0,
+			config.getCoordinatesBackgroundColorWithAlpha(),
+			config.coordinatesRefreshInterval
+		);
+	}
+	
+	private static TextElement biome(SimpleFPSConfig config) {
+		return new TextElement(
+			config.biomeEnabled,
+			config.biomeX,
+			config.biomeY,
+			config.biomeTextSize,
+			config.getBiomeTextColorWithAlpha(),
+			config.biomeShowBackground && config.biomeBackgroundOpacity > 0,
+			config.getBiomeBackgroundColorWithAlpha(),
+			config.biomeRefreshInterval
+		);
+	}
+	
+	private static TimeClock timeClock(SimpleFPSConfig config) {
+		return new TimeClock(
+			new TextElement(
+				config.timeClockEnabled,
+				config.timeClockX,
+				config.timeClockY,
+				config.timeClockTextSize,
+				config.getTimeClockTextColorWithAlpha(),
+				config.timeClockShowBackground && config.timeClockBackgroundOpacity > 0,
+				config.getTimeClockBackgroundColorWithAlpha(),
+				config.timeClockRefreshInterval
+			),
+			config.timeClock24Hour,
+			config.timeClockMinimalist
+		);
+	}
+	
+	private static TextElement memory(SimpleFPSConfig config) {
+		return new TextElement(
+			config.memoryEnabled,
+			config.memoryX,
+			config.memoryY,
+			config.memoryTextSize,
+			config.getMemoryTextColorWithAlpha(),
+			config.memoryShowBackground && config.memoryBackgroundOpacity > 0,
+			config.getMemoryBackgroundColorWithAlpha(),
+			config.memoryRefreshInterval
+		);
+	}
+	
+	private static Layout layout(SimpleFPSConfig config) {
+		return new Layout(config.referenceWidth, config.referenceHeight);
+	}
+	
+	/**
+	 * FPS counter settings.
+	 * @param text Position, size and colors
+	 * @param hitchMultiplier Frames this many times the median frame time count as hitches
+	 * @param hitchFlash Whether the counter flashes red after a hitch
+	 */
+	public record Fps(
+		TextElement text,
+		boolean showLabel,
+		boolean showDirection,
+		boolean adaptiveColorEnabled,
+		int lowFpsThreshold,
+		int highFpsThreshold,
+		int hitchMultiplier,
+		boolean hitchFlash
+	) {
+		/**
+		 * Whether the FPS counter is shown.
+		 */
+		public boolean enabled() {
+			return text.enabled();
+		}
+		
+		/**
+		 * Gets the text color for the given FPS, applying the adaptive
+		 * red/yellow/green color when enabled.
+		 */
+		public int getTextColor(int fps) {
+			int textColor = text.textColor();
+			if (!adaptiveColorEnabled) {
+				return textColor;
+			}
+			int rgb;
+			if (fps <= lowFpsThreshold) {
+				rgb = 0xFF5555; // Red
+			} else if (fps >= highFpsThreshold) {
+				rgb = 0x55FF55; // Green
+			} else {
+				rgb = 0xFFFF55; // Yellow
+			}
+			return (textColor & 0xFF000000) | rgb; // Keep the configured opacity
+		}
+	}
+	
+	/**
+	 * FPS graph settings.
+	 * @param scale Size in percent (50-200)
+	 * @param statsWindow Percentile window in seconds
+	 * @param gcMarkers GC pause markers and the slow-frame GC share in the footer
+	 */
+	public record Graph(
+		boolean enabled,
+		int x,
+		int y,
+		int scale,
+		boolean showBackground,
+		boolean showPercentiles,
+		int statsWindow,
+		boolean lineMode,
+		boolean hitchMarkers,
+		boolean gcMarkers,
+		int lowFpsThreshold,
+		int highFpsThreshold
+	) {
+		/**
+		 * Gets the red/yellow/green color for an FPS value using the graph thresholds.
+		 */
+		public int getThresholdColor(int fps) {
+			if (fps <= lowFpsThreshold) {
+				return 0xFFFF5555; // Red
+			} else if (fps < highFpsThreshold) {
+				return 0xFFFFFF55; // Yellow
+			}
+			return 0xFF55FF55; // Green
+		}
+	}
+	
+	/**
+	 * Settings shared by the single-line text elements (FPS, coordinates, biome, time clock, memory).
+	 * @param textColor Text color with opacity applied (ARGB)
+	 * @param showBackground Whether a background is drawn (enabled and not fully transparent)
+	 * @param backgroundColor Background color with opacity applied (ARGB)
+	 * @param refreshInterval How often the text is refreshed: 0 every frame,
+	 * -1 every client tick, otherwise a period in milliseconds
+	 */
+	public record TextElement(
+		boolean enabled,
+		int x,
+		int y,
+		float textSize,
+		int textColor,
+		boolean showBackground,
+		int backgroundColor,
+		int refreshInterval
+	) {}
+	
+	/**
+	 * Time clock settings.
+	 * @param use24Hour "07:30" instead of "7:30 AM"
+	 * @param minimalist "1342 7:30 AM" instead of "Day: 1342 Time: 7:30 AM"
+	 */
+	public record TimeClock(TextElement text, boolean use24Hour, boolean minimalist) {}
+	
+	/**
+	 * Screen size the positions were set at, used to keep elements anchored
+	 * to the nearest edge when the window is resized.
+	 */
+	public record Layout(int referenceWidth, int referenceHeight) {
+		/**
+		 * Get scaled X position using anchor-based scaling.
+		 * Elements positioned in the left half stay anchored to left edge,
+		 * right half stays anchored to right edge.
+		 */
+		public int scaleX(int originalX, int currentWidth) {
+			return scaleX(originalX, referenceWidth, currentWidth);
+		}
+		
+		/**
+		 * Get scaled Y position using anchor-based scaling.
+		 * Elements in top half stay anchored to top, bottom half stays anchored to bottom.
+		 */
+		public int scaleY(int originalY, int currentHeight) {
+			return scaleY(originalY, referenceHeight, currentHeight);
+		}
+		
+		/**
+		 * {@link #scaleX(int, int)} for a reference width that isn't in a
+		 * Layout yet (positions being edited before they are committed).
+		 */
+		public static int scaleX(int originalX, int referenceWidth, int currentWidth) {
+			if (referenceWidth <= 0) {
+				// No reference set, just clamp to screen
+				return Math.min(originalX, Math.max(0, currentWidth - 50));
+			}
+			
+			// Determine if element was in left or right half
+			int halfRef = referenceWidth / 2;
+			
+			if (originalX < halfRef) {
+				// Left half: keep absolute position from left edge
+				// But clamp to ensure it stays on screen
+				return Math.min(originalX, Math.max(0, currentWidth - 50));
+			} else {
+				// Right half: maintain distance from right edge
+				int distFromRight = referenceWidth - originalX;
+				return Math.max(0, currentWidth - distFromRight);
+			}
+		}
+		
+		/**
+		 * {@link #scaleY(int, int)} for a reference height that isn't in a
+		 * Layout yet.
+		 */
+		public static int scaleY(int originalY, int referenceHeight, int currentHeight) {
+			if (referenceHeight <= 0) {
+				// No reference set, just clamp to screen
+				return Math.min(originalY, Math.max(0, currentHeight - 20));
+			}
+			
+			// Determine if element was in top or bottom half
+			int halfRef = referenceHeight / 2;
+			
+			if (originalY < halfRef) {
+				// Top half: keep absolute position from top edge
+				// But clamp to ensure it stays on screen
+				return Math.min(originalY, Math.max(0, currentHeight - 20));
+			} else {
+				// Bottom half: maintain distance from bottom edge
+				int distFromBottom = referenceHeight - originalY;
+				return Math.max(0, currentHeight - distFromBottom);
+			}
+		}
+	}
+}
@@ -23,7 +23,8 @@ public class ModConfigScreen {
 	}
 	
 	public static Screen createConfigScreen(Screen parent, int initialTab) {
-		SimpleFPSConfig config = SimpleFPSConfig.getInstance();
+		// Entries save into a copy, which is committed to the live config in one step
+		SimpleFPSConfig config = SimpleFPSConfig.getInstance().copy();
 		
 		ConfigBuilder builder = ConfigBuilder.create()
 			.setParentScreen(parent)
@@ -43,7 +44,7 @@ public class ModConfigScreen {
 						Text.literal("Save"),
 						button -> {
 							configScreen.saveAll(false);
-							config.save();
+							SimpleFPSConfig.commit(config).save();
 						}
 					).dimensions(saveButtonX, screen.height - 26, buttonWidth, 20).build();
 					
@@ -59,13 +60,14 @@ public class ModConfigScreen {
 						button -> {
 							// Get CURRENT tab at click time
 							int clickedTab = configScreen.selectedCategoryIndex;
-							// Only work on tabs 0, 1, 2, 3 (FPS, Coordinates, Biome, Time Clock)
-							if (clickedTab > 3) return;
+							// Only work on tabs 0-4 (FPS, Coordinates, Biome, Time Clock, Memory)
+							if (clickedTab > 4) return;
 							
 							String categoryName = switch (clickedTab) {
 								case 1 -> "Coordinates";
 								case 2 -> "Biome";
 								case 3 -> "Time Clock";
+								case 4 -> "Memory";
 								default -> "FPS Counter";
 							};
 							
@@ -75,9 +77,9 @@ public class ModConfigScreen {
 							final Screen originalParent = parent; // Capture parent explicitly
 							
 							MinecraftClient.getInstance().setScreen(new ColorPickerScreen(screen, currentColor, newColor -> {
-								SimpleFPSConfig freshConfig = SimpleFPSConfig.getInstance();
+								SimpleFPSConfig freshConfig = SimpleFPSConfig.getInstance().copy();
 								setTextColorForCategory(freshConfig, categoryName, newColor);
-								freshConfig.save();
+								SimpleFPSConfig.commit(freshConfig).save();
 								
 								// Skip the save that happens when closing old screen
 								skipNextSave = true;
@@ -94,13 +96,14 @@ public class ModConfigScreen {
 						button -> {
 							// Get CURRENT tab at click time
 							int clickedTab = configScreen.selectedCategoryIndex;
-							// Only work on tabs 0, 1, 2, 3 (FPS, Coordinates, Biome, Time Clock)
-							if (clickedTab > 3) return;
+							// Only work on tabs 0-4 (FPS, Coordinates, Biome, Time Clock, Memory)
+							if (clickedTab > 4) return;
 							
 							String categoryName = switch (clickedTab) {
 								case 1 -> "Coordinates";
 								case 2 -> "Biome";
 								case 3 -> "Time Clock";
+								case 4 -> "Memory";
 								default -> "FPS Counter";
 							};
 							
@@ -110,9 +113,9 @@ public class ModConfigScreen {
 							final Screen originalParent = parent;
 							
 							MinecraftClient.getInstance().setScreen(new ColorPickerScreen(screen, currentColor, newColor -> {
-								SimpleFPSConfig freshConfig = SimpleFPSConfig.getInstance();
+								SimpleFPSConfig freshConfig = SimpleFPSConfig.getInstance().copy();
 								setBgColorForCategory(freshConfig, categoryName, newColor);
-								freshConfig.save();
+								SimpleFPSConfig.commit(freshConfig).save();
 								
 								// Skip the save that happens when closing old screen
 								skipNextSave = true;
@@ -134,10 +137,10 @@ public class ModConfigScreen {
 						}
 						
 						// Show/hide color picker buttons based on current tab
-						// Tabs 0, 1, 2, 3 = FPS, Coordinates, Biome, Time Clock (have colors)
-						// Tabs 4, 5, 6 = Graph, Adaptive, Keybinds (no color pickers)
+						// Tabs 0-4 = FPS, Coordinates, Biome, Time Clock, Memory (have colors)
+						// Tabs 5, 6, 7 = Graph, Adaptive, Keybinds (no color pickers)
 						int currentTab = configScreen.selectedCategoryIndex;
-						boolean showColorButtons = currentTab <= 3;
+						boolean showColorButtons = currentTab <= 4;
 						textColorPicker.visible = showColorButtons;
 						bgColorPicker.visible = showColorButtons;
 					});
@@ -160,7 +163,7 @@ public class ModConfigScreen {
 					client.getWindow().getScaledHeight()
 				);
 			}
-			config.save();
+			SimpleFPSConfig.commit(config).save();
 		});
 
 		ConfigEntryBuilder entryBuilder = builder.entryBuilder();
@@ -250,6 +253,55 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.backgroundOpacity = newValue)
 			.build());
 
+		generalCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.refreshInterval"),
+			config.refreshInterval)
+			.setDefaultValue(SimpleFPSConfig.REFRESH_EVERY_FRAME)
+			.setMin(-1)
+			.setMax(5000)
+			.setTooltip(
+				Text.translatable("simplefps.config.refreshInterval.tooltip"),
+				Text.translatable("simplefps.config.refreshInterval.values").formatted(Formatting.WHITE)
+			)
+			.setSaveConsumer(newValue -> config.refreshInterval = newValue)
+			.build());
+
+		generalCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.hudCacheEnabled"),
+			config.hudCacheEnabled)
+			.setDefaultValue(false)
+			.setTooltip(Text.translatable("simplefps.config.hudCacheEnabled.tooltip"))
+			.setSaveConsumer(newValue -> config.hudCacheEnabled = newValue)
+			.build());
+
+		generalCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.sessionAutoRecord"),
+			config.sessionAutoRecord)
+			.setDefaultValue(false)
+			.setTooltip(Text.translatable("simplefps.config.sessionAutoRecord.tooltip"))
+			.setSaveConsumer(newValue -> config.sessionAutoRecord = newValue)
+			.build());
+
+		generalCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.benchmarkDuration"),
+			config.benchmarkDuration)
+			.setDefaultValue(60)
+			.setMin(5)
+			.setMax(600)
+			.setTooltip(Text.translatable("simplefps.config.benchmarkDuration.tooltip"))
+			.setSaveConsumer(newValue -> config.benchmarkDuration = newValue)
+			.build());
+
+		generalCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.benchmarkStutterThreshold"),
+			config.benchmarkStutterThreshold)
+			.setDefaultValue(50)
+			.setMin(10)
+			.setMax(1000)
+			.setTooltip(Text.translatable("simplefps.config.benchmarkStutterThreshold.tooltip"))
+			.setSaveConsumer(newValue -> config.benchmarkStutterThreshold = newValue)
+			.build());
+
 		// Position options
 		generalCategory.addEntry(entryBuilder.startTextDescription(
 			Text.literal("Position: ").formatted(Formatting.GOLD)
@@ -337,6 +389,19 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.coordinatesBackgroundOpacity = newValue)
 			.build());
 
+		coordinatesCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.coordinatesRefreshInterval"),
+			config.coordinatesRefreshInterval)
+			.setDefaultValue(SimpleFPSConfig.REFRESH_EVERY_TICK)
+			.setMin(-1)
+			.setMax(5000)
+			.setTooltip(
+				Text.translatable("simplefps.config.coordinatesRefreshInterval.tooltip"),
+				Text.translatable("simplefps.config.refreshInterval.values").formatted(Formatting.WHITE)
+			)
+			.setSaveConsumer(newValue -> config.coordinatesRefreshInterval = newValue)
+			.build());
+
 		coordinatesCategory.addEntry(entryBuilder.startTextDescription(
 			Text.literal("Position: ").formatted(Formatting.GOLD)
 				.append(Text.literal("Use 'Drag HUD Elements' keybind to visually reposition.").formatted(Formatting.WHITE)))
@@ -423,6 +488,19 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.biomeBackgroundOpacity = newValue)
 			.build());
 
+		biomeCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.biomeRefreshInterval"),
+			config.biomeRefreshInterval)
+			.setDefaultValue(SimpleFPSConfig.REFRESH_EVERY_TICK)
+			.setMin(-1)
+			.setMax(5000)
+			.setTooltip(
+				Text.translatable("simplefps.config.biomeRefreshInterval.tooltip"),
+				Text.translatable("simplefps.config.refreshInterval.values").formatted(Formatting.WHITE)
+			)
+			.setSaveConsumer(newValue -> config.biomeRefreshInterval = newValue)
+			.build());
+
 		biomeCategory.addEntry(entryBuilder.startTextDescription(
 			Text.literal("Position: ").formatted(Formatting.GOLD)
 				.append(Text.literal("Use 'Drag HUD Elements' keybind to visually reposition.").formatted(Formatting.WHITE)))
@@ -525,6 +603,19 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.timeClockBackgroundOpacity = newValue)
 			.build());
 
+		timeClockCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.timeClockRefreshInterval"),
+			config.timeClockRefreshInterval)
+			.setDefaultValue(SimpleFPSConfig.REFRESH_EVERY_TICK)
+			.setMin(-1)
+			.setMax(5000)
+			.setTooltip(
+				Text.translatable("simplefps.config.timeClockRefreshInterval.tooltip"),
+				Text.translatable("simplefps.config.refreshInterval.values").formatted(Formatting.WHITE)
+			)
+			.setSaveConsumer(newValue -> config.timeClockRefreshInterval = newValue)
+			.build());
+
 		timeClockCategory.addEntry(entryBuilder.startTextDescription(
 			Text.literal("Position: ").formatted(Formatting.GOLD)
 				.append(Text.literal("Use 'Drag HUD Elements' keybind to visually reposition.").formatted(Formatting.WHITE)))
@@ -550,13 +641,112 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.timeClockY = newValue)
 			.build());
 
-		// ==================== FPS Graph Category (Tab 4) ====================
+		// ==================== Memory Category (Tab 4) ====================
+		ConfigCategory memoryCategory = builder.getOrCreateCategory(
+			Text.translatable("simplefps.config.category.memory"));
+
+		memoryCategory.addEntry(entryBuilder.startTextDescription(
+			Text.literal("Note: ").formatted(Formatting.GOLD)
+				.append(Text.literal("Shows heap used/allocated/max, how fast memory is allocated and the longest GC pause of the last 10 seconds. Values update twice a second.").formatted(Formatting.WHITE)))
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startTextDescription(
+			Text.literal("Colors: ").formatted(Formatting.GOLD)
+				.append(Text.literal("Use the 'Text Color' and 'BG Color' buttons at the bottom-left to pick colors.").formatted(Formatting.WHITE)))
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.memoryEnabled"),
+			config.memoryEnabled)
+			.setDefaultValue(false)
+			.setTooltip(Text.translatable("simplefps.config.memoryEnabled.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryEnabled = newValue)
+			.build());
+
+		int memoryTextSizePercent = (int) (config.memoryTextSize * 100);
+		memoryCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.memoryTextSize"),
+			memoryTextSizePercent)
+			.setDefaultValue(100)
+			.setMin(50)
+			.setMax(200)
+			.setTooltip(Text.translatable("simplefps.config.memoryTextSize.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryTextSize = newValue / 100.0f)
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.memoryTextOpacity"),
+			config.memoryTextOpacity)
+			.setDefaultValue(100)
+			.setMin(0)
+			.setMax(100)
+			.setTooltip(Text.translatable("simplefps.config.memoryTextOpacity.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryTextOpacity = newValue)
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.memoryShowBackground"),
+			config.memoryShowBackground)
+			.setDefaultValue(true)
+			.setTooltip(Text.translatable("simplefps.config.memoryShowBackground.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryShowBackground = newValue)
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.memoryBackgroundOpacity"),
+			config.memoryBackgroundOpacity)
+			.setDefaultValue(50)
+			.setMin(0)
+			.setMax(100)
+			.setTooltip(Text.translatable("simplefps.config.memoryBackgroundOpacity.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryBackgroundOpacity = newValue)
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.memoryRefreshInterval"),
+			config.memoryRefreshInterval)
+			.setDefaultValue(SimpleFPSConfig.REFRESH_EVERY_TICK)
+			.setMin(-1)
+			.setMax(5000)
+			.setTooltip(
+				Text.translatable("simplefps.config.memoryRefreshInterval.tooltip"),
+				Text.translatable("simplefps.config.refreshInterval.values").formatted(Formatting.WHITE)
+			)
+			.setSaveConsumer(newValue -> config.memoryRefreshInterval = newValue)
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startTextDescription(
+			Text.literal("Position: ").formatted(Formatting.GOLD)
+				.append(Text.literal("Use 'Drag HUD Elements' keybind to visually reposition.").formatted(Formatting.WHITE)))
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.memoryX"),
+			config.memoryX)
+			.setDefaultValue(5)
+			.setMin(0)
+			.setMax(3840)
+			.setTooltip(Text.translatable("simplefps.config.memoryX.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryX = newValue)
+			.build());
+
+		memoryCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.memoryY"),
+			config.memoryY)
+			.setDefaultValue(110)
+			.setMin(0)
+			.setMax(2160)
+			.setTooltip(Text.translatable("simplefps.config.memoryY.tooltip"))
+			.setSaveConsumer(newValue -> config.memoryY = newValue)
+			.build());
+
+		// ==================== FPS Graph Category (Tab 5) ====================
 		ConfigCategory graphCategory = builder.getOrCreateCategory(
 			Text.translatable("simplefps.config.category.graph"));
 
 		graphCategory.addEntry(entryBuilder.startTextDescription(
 			Text.literal("Note: ").formatted(Formatting.GOLD)
-				.append(Text.literal("The FPS Graph shows FPS history with Min/Max/Avg stats. When enabled, it can be dragged to reposition. Stats reset every 30 seconds.").formatted(Formatting.WHITE)))
+				.append(Text.literal("The FPS Graph shows FPS history with Min/Max/Avg stats. When enabled, it can be dragged to reposition. Stats cover the last 30 seconds.").formatted(Formatting.WHITE)))
 			.build());
 
 		graphCategory.addEntry(entryBuilder.startTextDescription(
@@ -580,6 +770,48 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.graphShowBackground = newValue)
 			.build());
 
+		graphCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.graphLineMode"),
+			config.graphLineMode)
+			.setDefaultValue(false)
+			.setTooltip(Text.translatable("simplefps.config.graphLineMode.tooltip"))
+			.setSaveConsumer(newValue -> config.graphLineMode = newValue)
+			.build());
+
+		graphCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.graphHitchMarkers"),
+			config.graphHitchMarkers)
+			.setDefaultValue(true)
+			.setTooltip(Text.translatable("simplefps.config.graphHitchMarkers.tooltip"))
+			.setSaveConsumer(newValue -> config.graphHitchMarkers = newValue)
+			.build());
+
+		graphCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.graphGcMarkers"),
+			config.graphGcMarkers)
+			.setDefaultValue(false)
+			.setTooltip(Text.translatable("simplefps.config.graphGcMarkers.tooltip"))
+			.setSaveConsumer(newValue -> config.graphGcMarkers = newValue)
+			.build());
+
+		graphCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.graphShowPercentiles"),
+			config.graphShowPercentiles)
+			.setDefaultValue(true)
+			.setTooltip(Text.translatable("simplefps.config.graphShowPercentiles.tooltip"))
+			.setSaveConsumer(newValue -> config.graphShowPercentiles = newValue)
+			.build());
+
+		graphCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.graphStatsWindow"),
+			config.graphStatsWindow)
+			.setDefaultValue(30)
+			.setMin(5)
+			.setMax(300)
+			.setTooltip(Text.translatable("simplefps.config.graphStatsWindow.tooltip"))
+			.setSaveConsumer(newValue -> config.graphStatsWindow = newValue)
+			.build());
+
 		graphCategory.addEntry(entryBuilder.startIntField(
 			Text.translatable("simplefps.config.graphScale"),
 			config.graphScale)
@@ -635,7 +867,7 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.graphHighFpsThreshold = newValue)
 			.build());
 
-		// ==================== Adaptive Color Category (Tab 5) ====================
+		// ==================== Adaptive Color Category (Tab 6) ====================
 		ConfigCategory adaptiveCategory = builder.getOrCreateCategory(
 			Text.translatable("simplefps.config.category.adaptive"));
 
@@ -678,7 +910,25 @@ public class ModConfigScreen {
 			.setSaveConsumer(newValue -> config.highFpsThreshold = newValue)
 			.build());
 
-		// ==================== Keybindings Category (Tab 6) ====================
+		adaptiveCategory.addEntry(entryBuilder.startBooleanToggle(
+			Text.translatable("simplefps.config.hitchFlash"),
+			config.hitchFlash)
+			.setDefaultValue(false)
+			.setTooltip(Text.translatable("simplefps.config.hitchFlash.tooltip"))
+			.setSaveConsumer(newValue -> config.hitchFlash = newValue)
+			.build());
+
+		adaptiveCategory.addEntry(entryBuilder.startIntField(
+			Text.translatable("simplefps.config.hitchMultiplier"),
+			config.hitchMultiplier)
+			.setDefaultValue(3)
+			.setMin(2)
+			.setMax(10)
+			.setTooltip(Text.translatable("simplefps.config.hitchMultiplier.tooltip"))
+			.setSaveConsumer(newValue -> config.hitchMultiplier = newValue)
+			.build());
+
+		// ==================== Keybindings Category (Tab 7) ====================
 		ConfigCategory keybindsCategory = builder.getOrCreateCategory(
 			Text.translatable("simplefps.config.category.keybinds"));
 
@@ -708,6 +958,11 @@ public class ModConfigScreen {
 			SimpleFPSClient.reloadKeyBinding)
 			.build());
 
+		keybindsCategory.addEntry(entryBuilder.fillKeybindingField(
+			Text.translatable("simplefps.key.benchmark"),
+			SimpleFPSClient.benchmarkKeyBinding)
+			.build());
+
 		return builder.build();
 	}
 	
@@ -717,6 +972,7 @@ public class ModConfigScreen {
 			case "Coordinates" -> config.coordinatesTextColor;
 			case "Biome" -> config.biomeTextColor;
 			case "Time Clock" -> config.timeClockTextColor;
+			case "Memory" -> config.memoryTextColor;
 			default -> config.textColor; // FPS Counter and others
 		};
 	}
@@ -727,6 +983,7 @@ public class ModConfigScreen {
 			case "Coordinates" -> config.coordinatesTextColor = color;
 			case "Biome" -> config.biomeTextColor = color;
 			case "Time Clock" -> config.timeClockTextColor = color;
+			case "Memory" -> config.memoryTextColor = color;
 			default -> config.textColor = color; // FPS Counter
 		}
 	}
@@ -737,6 +994,7 @@ public class ModConfigScreen {
 			case "Coordinates" -> config.coordinatesBackgroundColor;
 			case "Biome" -> config.biomeBackgroundColor;
 			case "Time Clock" -> config.timeClockBackgroundColor;
+			case "Memory" -> config.memoryBackgroundColor;
 			default -> config.backgroundColor; // FPS Counter
 		};
 	}
@@ -747,6 +1005,7 @@ public class ModConfigScreen {
 			case "Coordinates" -> config.coordinatesBackgroundColor = color;
 			case "Biome" -> config.biomeBackgroundColor = color;
 			case "Time Clock" -> config.timeClockBackgroundColor = color;
+			case "Memory" -> config.memoryBackgroundColor = color;
 			default -> config.backgroundColor = color; // FPS Counter
 		}
 	}
@@ -0,0 +1,17 @@
+package com.simplefps.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Allowed range of a numeric config option. Values outside it are clamped
+ * when the config is loaded or reloaded.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Range {
+	double min();
+	double max() default Double.MAX_VALUE;
+}
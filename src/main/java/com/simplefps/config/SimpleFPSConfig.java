@@ -2,109 +2,195 @@ package com.simplefps.config;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
 import net.fabricmc.loader.api.FabricLoader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
 
 public class SimpleFPSConfig {
 	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Config");
-	private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
-	private static final File CONFIG_FILE = new File(FabricLoader.getInstance().getConfigDir().toFile(), "simplefps.json");
-	private static SimpleFPSConfig INSTANCE;
+	private static final Gson GSON = new GsonBuilder()
+		.setPrettyPrinting()
+		.registerTypeAdapter(SimpleFPSConfig.class, ConfigFields.typeAdapter())
+		.create();
+	private static File configFile; // Resolved on first use, not at class load
+	// Volatile: replaced by the config watcher thread, read by the render thread
+	private static volatile SimpleFPSConfig INSTANCE;
+	// Immutable copy of INSTANCE for the renderers, republished on every commit
+	private static volatile HudSnapshot SNAPSHOT;
+	// Values SNAPSHOT was built from, diffed on republish (guarded by SimpleFPSConfig.class)
+	private static SimpleFPSConfig publishedValues;
+	
+	// Refresh interval values; anything above 0 is a period in milliseconds
+	public static final int REFRESH_EVERY_FRAME = 0;
+	public static final int REFRESH_EVERY_TICK = -1;
 
 	// ==================== FPS Counter Options ====================
 	public boolean enabled = true;
 	public boolean showLabel = true;
 	public boolean showDirection = false; // Shows N/E/S/W after FPS
+	@Range(min = -1, max = 5000) public int refreshInterval = REFRESH_EVERY_FRAME; // e.g. 250 for 4 updates a second
 	
 	// FPS Counter Position
-	public int positionX = 5;
-	public int positionY = 5;
+	@Range(min = 0) public int positionX = 5;
+	@Range(min = 0) public int positionY = 5;
 	
 	// FPS Counter Appearance
 	public String textColor = "#FFFFFF";
-	public float textSize = 1.0f;
-	public int textOpacity = 100; // 0-100 percentage
+	@Range(min = 0.5, max = 4.0) public float textSize = 1.0f;
+	@Range(min = 0, max = 100) public int textOpacity = 100; // 0-100 percentage
 	
 	// FPS Counter Background
 	public boolean showBackground = true;
 	public String backgroundColor = "#000000";
-	public int backgroundOpacity = 50; // 0-100 percentage
+	@Range(min = 0, max = 100) public int backgroundOpacity = 50; // 0-100 percentage
 	
 	// FPS Adaptive color options
 	public boolean adaptiveColorEnabled = false;
-	public int lowFpsThreshold = 25;  // Red at or below this
-	public int highFpsThreshold = 60; // Green at or above this
+	@Range(min = 1, max = 999) public int lowFpsThreshold = 25;  // Red at or below this
+	@Range(min = 1, max = 999) public int highFpsThreshold = 60; // Green at or above this
+	
+	// Hitch detection - a frame this many times slower than the recent median is a hitch
+	@Range(min = 2, max = 10) public int hitchMultiplier = 3;
+	public boolean hitchFlash = false; // Briefly show the counter in red after a hitch
 	
 	// ==================== FPS Graph Options ====================
 	public boolean graphEnabled = false;
-	public int graphX = 5;
-	public int graphY = 100;
-	public int graphScale = 100; // 50-200%
+	@Range(min = 0) public int graphX = 5;
+	@Range(min = 0) public int graphY = 100;
+	@Range(min = 50, max = 200) public int graphScale = 100; // 50-200%
 	public boolean graphShowBackground = true;
+	public boolean graphShowPercentiles = true; // 1%/0.1% lows and p50/p95/p99 frame times
+	@Range(min = 5, max = 300) public int graphStatsWindow = 30; // Percentile window in seconds (5-300)
+	public boolean graphLineMode = false; // false = FPS bars, true = frame-time line
+	public boolean graphHitchMarkers = true; // Mark detected hitches above the graph
+	public boolean graphGcMarkers = false; // Mark GC pauses below the graph and show how many slow frames they caused
 	
 	// Graph-specific thresholds
-	public int graphLowFpsThreshold = 30;
-	public int graphHighFpsThreshold = 60;
+	@Range(min = 1, max = 999) public int graphLowFpsThreshold = 30;
+	@Range(min = 1, max = 999) public int graphHighFpsThreshold = 60;
 	
 	// ==================== Coordinates Options ====================
 	public boolean coordinatesEnabled = false;
-	public int coordinatesX = 5;
-	public int coordinatesY = 50;
+	@Range(min = 0) public int coordinatesX = 5;
+	@Range(min = 0) public int coordinatesY = 50;
 	public String coordinatesTextColor = "#FFFFFF";
-	public float coordinatesTextSize = 1.0f;
-	public int coordinatesTextOpacity = 100;
+	@Range(min = 0.5, max = 2.0) public float coordinatesTextSize = 1.0f;
+	@Range(min = 0, max = 100) public int coordinatesTextOpacity = 100;
 	public boolean coordinatesShowBackground = true;
 	public String coordinatesBackgroundColor = "#000000";
-	public int coordinatesBackgroundOpacity = 50;
+	@Range(min = 0, max = 100) public int coordinatesBackgroundOpacity = 50;
+	@Range(min = -1, max = 5000) public int coordinatesRefreshInterval = REFRESH_EVERY_TICK;
 	
 	// ==================== Biome Options ====================
 	public boolean biomeEnabled = false;
-	public int biomeX = 5;
-	public int biomeY = 70;
+	@Range(min = 0) public int biomeX = 5;
+	@Range(min = 0) public int biomeY = 70;
 	public String biomeTextColor = "#FFFFFF";
-	public float biomeTextSize = 1.0f;
-	public int biomeTextOpacity = 100;
+	@Range(min = 0.5, max = 2.0) public float biomeTextSize = 1.0f;
+	@Range(min = 0, max = 100) public int biomeTextOpacity = 100;
 	public boolean biomeShowBackground = true;
 	public String biomeBackgroundColor = "#000000";
-	public int biomeBackgroundOpacity = 50;
+	@Range(min = 0, max = 100) public int biomeBackgroundOpacity = 50;
+	@Range(min = -1, max = 5000) public int biomeRefreshInterval = REFRESH_EVERY_TICK;
 	
 	// ==================== Time Clock Options ====================
 	public boolean timeClockEnabled = false;
-	public int timeClockX = 5;
-	public int timeClockY = 90;
+	@Range(min = 0) public int timeClockX = 5;
+	@Range(min = 0) public int timeClockY = 90;
 	public String timeClockTextColor = "#FFFFFF";
-	public float timeClockTextSize = 1.0f;
-	public int timeClockTextOpacity = 100;
+	@Range(min = 0.5, max = 2.0) public float timeClockTextSize = 1.0f;
+	@Range(min = 0, max = 100) public int timeClockTextOpacity = 100;
 	public boolean timeClockShowBackground = true;
 	public String timeClockBackgroundColor = "#000000";
-	public int timeClockBackgroundOpacity = 50;
+	@Range(min = 0, max = 100) public int timeClockBackgroundOpacity = 50;
 	public boolean timeClock24Hour = false;      // false = 12-hour, true = 24-hour
 	public boolean timeClockMinimalist = false;  // false = "Day: X Time: Y", true = "X Y"
+	@Range(min = -1, max = 5000) public int timeClockRefreshInterval = REFRESH_EVERY_TICK;
+	
+	// ==================== Memory Options ====================
+	public boolean memoryEnabled = false;
+	@Range(min = 0) public int memoryX = 5;
+	@Range(min = 0) public int memoryY = 110;
+	public String memoryTextColor = "#FFFFFF";
+	@Range(min = 0.5, max = 2.0) public float memoryTextSize = 1.0f;
+	@Range(min = 0, max = 100) public int memoryTextOpacity = 100;
+	public boolean memoryShowBackground = true;
+	public String memoryBackgroundColor = "#000000";
+	@Range(min = 0, max = 100) public int memoryBackgroundOpacity = 50;
+	@Range(min = -1, max = 5000) public int memoryRefreshInterval = REFRESH_EVERY_TICK; // Values change twice a second
 
+	// ==================== Rendering Options ====================
+	// Record the drawn HUD and replay it on frames where no element changed,
+	// instead of running every element's draw code each frame.
+	public boolean hudCacheEnabled = false;
+	
+	// ==================== Session Recording ====================
+	// Record frame times to .minecraft/simplefps/sessions/ whenever a world is joined
+	// (see /simplefps session for manual recording and export)
+	public boolean sessionAutoRecord = false;
+	
+	// ==================== Benchmark ====================
+	// Started with the "Start/Stop Benchmark" key; reports go to .minecraft/simplefps/benchmarks/
+	@Range(min = 5, max = 600) public int benchmarkDuration = 60; // Seconds to record (5-600)
+	@Range(min = 10, max = 1000) public int benchmarkStutterThreshold = 50; // Frames longer than this (ms) count as stutters
+	
+	// ==================== Storage Options ====================
+	// Also keep a compact binary copy (simplefps.bin) that loads faster at startup.
+	// simplefps.json is still written and wins whenever it is newer.
+	public boolean configBinaryStore = false;
+	
 	// ==================== Reference Resolution (for scaling) ====================
 	// These store the screen size when positions were last set
 	// Positions will scale proportionally when window is resized
-	public int referenceWidth = 0;  // 0 means not set yet
-	public int referenceHeight = 0;
+	@Range(min = 0) public int referenceWidth = 0;  // 0 means not set yet
+	@Range(min = 0) public int referenceHeight = 0;
+	
+	// ==================== Runtime State (not saved) ====================
+	// Resolved ARGB colors, re-parsed only when the hex string or opacity changes
+	private final transient ResolvedColor resolvedTextColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedBackgroundColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedCoordinatesTextColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedCoordinatesBackgroundColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedBiomeTextColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedBiomeBackgroundColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedTimeClockTextColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedTimeClockBackgroundColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedMemoryTextColor = new ResolvedColor();
+	private final transient ResolvedColor resolvedMemoryBackgroundColor = new ResolvedColor();
 
-	public static SimpleFPSConfig load() {
+	public static synchronized SimpleFPSConfig load() {
 		if (INSTANCE == null) {
-			if (CONFIG_FILE.exists()) {
-				try (FileReader reader = new FileReader(CONFIG_FILE)) {
-					INSTANCE = GSON.fromJson(reader, SimpleFPSConfig.class);
+			File file = getConfigFile();
+			SimpleFPSConfig cached = BinaryConfigStore.readIfCurrent(getBinaryConfigPath(), file.toPath());
+			if (cached != null) {
+				cached.validate();
+				publish(cached);
+				LOGGER.info("Loaded config from binary cache");
+			} else if (file.exists()) {
+				try {
+					String json = Files.readString(file.toPath());
+					SimpleFPSConfig loaded = GSON.fromJson(json, SimpleFPSConfig.class);
+					if (loaded == null) {
+						loaded = new SimpleFPSConfig();
+					}
+					loaded.validate();
+					publish(loaded);
+					loaded.syncBinaryStore(json);
 					LOGGER.info("Loaded config from file");
-				} catch (IOException e) {
+				} catch (IOException | JsonParseException e) {
 					LOGGER.error("Failed to load config, using defaults", e);
-					INSTANCE = new SimpleFPSConfig();
+					publish(new SimpleFPSConfig());
 				}
 			} else {
-				INSTANCE = new SimpleFPSConfig();
+				publish(new SimpleFPSConfig());
 				INSTANCE.save();
 				LOGGER.info("Created new config file with defaults");
 			}
@@ -112,26 +198,100 @@ public class SimpleFPSConfig {
 		return INSTANCE;
 	}
 
+	/**
+	 * Saves the config. Serialization happens on the calling thread so later
+	 * edits can't leak into the write; the file itself is written in the
+	 * background and rapid saves are coalesced.
+	 */
 	public void save() {
-		try (FileWriter writer = new FileWriter(CONFIG_FILE)) {
-			GSON.toJson(this, writer);
-			LOGGER.info("Config successfully saved to file");
-		} catch (IOException e) {
-			LOGGER.error("Failed to save config", e);
+		if (this == INSTANCE) {
+			// Keep renderers in sync if the live config was edited in place
+			republish(this);
+		}
+		String json = GSON.toJson(this);
+		AsyncConfigWriter.write(getConfigFile().toPath(), json);
+		syncBinaryStore(json);
+	}
+
+	/**
+	 * Writes the binary copy if enabled, otherwise removes a stale one.
+	 * @param json The JSON content this config was saved as or read from
+	 */
+	private void syncBinaryStore(String json) {
+		if (configBinaryStore) {
+			AsyncConfigWriter.write(getBinaryConfigPath(), BinaryConfigStore.encode(this, json.getBytes(StandardCharsets.UTF_8)));
+		} else {
+			AsyncConfigWriter.delete(getBinaryConfigPath());
 		}
 	}
 
+	/**
+	 * Re-reads the config file and publishes it. Safe to call from any thread.
+	 */
 	public static void reload() {
-		if (CONFIG_FILE.exists()) {
-			try (FileReader reader = new FileReader(CONFIG_FILE)) {
-				INSTANCE = GSON.fromJson(reader, SimpleFPSConfig.class);
-				LOGGER.info("Reloaded config from file");
-			} catch (IOException e) {
-				LOGGER.error("Failed to reload config", e);
+		// Make sure a queued save isn't overwritten by (or read back before) the reload
+		AsyncConfigWriter.flush();
+		readAndPublish(false);
+	}
+
+	/**
+	 * Reloads after the config file changed on disk. Called by the file
+	 * watcher; does nothing if the file holds what this client last wrote.
+	 */
+	static void reloadExternalChange() {
+		readAndPublish(true);
+	}
+
+	private static synchronized void readAndPublish(boolean skipOwnWrite) {
+		Path path = getConfigFile().toPath();
+		if (!Files.exists(path)) {
+			return;
+		}
+
+		String json;
+		try {
+			json = Files.readString(path);
+		} catch (IOException e) {
+			LOGGER.error("Failed to reload config", e);
+			return;
+		}
+		if (skipOwnWrite && json.equals(AsyncConfigWriter.getLastWrittenContent())) {
+			return;
+		}
+
+		try {
+			SimpleFPSConfig reloaded = GSON.fromJson(json, SimpleFPSConfig.class);
+			if (reloaded == null) {
+				LOGGER.warn("Config file is empty, keeping current settings");
+				return;
 			}
+			reloaded.validate();
+			publish(reloaded);
+			reloaded.syncBinaryStore(json);
+			LOGGER.info("Reloaded config from file");
+		} catch (JsonParseException e) {
+			LOGGER.error("Config file is not valid JSON, keeping current settings", e);
 		}
 	}
 
+	/**
+	 * Gets the path of simplefps.json.
+	 */
+	public static Path getConfigPath() {
+		return getConfigFile().toPath();
+	}
+
+	private static Path getBinaryConfigPath() {
+		return getConfigFile().toPath().resolveSibling("simplefps.bin");
+	}
+
+	private static File getConfigFile() {
+		if (configFile == null) {
+			configFile = new File(FabricLoader.getInstance().getConfigDir().toFile(), "simplefps.json");
+		}
+		return configFile;
+	}
+
 	public static SimpleFPSConfig getInstance() {
 		if (INSTANCE == null) {
 			return load();
@@ -139,6 +299,65 @@ public class SimpleFPSConfig {
 		return INSTANCE;
 	}
 	
+	/**
+	 * Gets the immutable config snapshot for rendering. Lock-free; the
+	 * returned object never changes, a new one is published on every commit.
+	 */
+	public static HudSnapshot snapshot() {
+		HudSnapshot snapshot = SNAPSHOT;
+		if (snapshot == null) {
+			load();
+			snapshot = SNAPSHOT;
+		}
+		return snapshot;
+	}
+	
+	/**
+	 * Applies an edited copy (see {@link #copy()}) to the live config and
+	 * publishes a new snapshot in one step. Screens edit a copy and commit
+	 * it, so renderers never observe a partially applied edit.
+	 * @return The live config, e.g. to call {@link #save()} on
+	 */
+	public static synchronized SimpleFPSConfig commit(SimpleFPSConfig edited) {
+		SimpleFPSConfig live = getInstance();
+		if (edited != live) {
+			live.copyFrom(edited);
+		}
+		republish(live);
+		return live;
+	}
+	
+	private static synchronized void publish(SimpleFPSConfig config) {
+		republish(config);
+		INSTANCE = config; // Single volatile write - readers see the old or the new config, never a mix
+	}
+	
+	/**
+	 * Rebuilds only the snapshot elements whose options changed since the
+	 * last publish, so the other renderers keep their cached state.
+	 */
+	private static synchronized void republish(SimpleFPSConfig config) {
+		if (publishedValues == null) {
+			publishedValues = config.copy();
+			SNAPSHOT = HudSnapshot.of(config);
+			return;
+		}
+		EnumSet<ConfigFields.Section> changed = ConfigFields.diff(publishedValues, config);
+		if (changed.isEmpty()) {
+			return;
+		}
+		ConfigFields.copy(config, publishedValues);
+		SNAPSHOT = HudSnapshot.update(SNAPSHOT, config, changed);
+	}
+	
+	/**
+	 * Clamps values to their {@link Range} and replaces missing colors, so
+	 * a hand-edited file can't break rendering.
+	 */
+	public void validate() {
+		ConfigFields.validate(this);
+	}
+	
 	/**
 	 * Parse hex color string to integer color value.
 	 * Supports formats: #RRGGBB, RRGGBB, #RGB, RGB
@@ -169,69 +388,30 @@ public class SimpleFPSConfig {
 	 * Get the text color as an integer with alpha applied.
 	 */
 	public int getTextColorWithAlpha() {
-		int rgb = parseHexColor(textColor);
-		int alpha = (int) (255 * (textOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedTextColor.get(textColor, textOpacity);
 	}
 	
 	/**
 	 * Get the background color as an integer with alpha applied.
 	 */
 	public int getBackgroundColorWithAlpha() {
-		int rgb = parseHexColor(backgroundColor);
-		int alpha = (int) (255 * (backgroundOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedBackgroundColor.get(backgroundColor, backgroundOpacity);
 	}
 	
 	// ==================== Position Scaling Methods ====================
 	
 	/**
-	 * Get scaled X position using anchor-based scaling.
-	 * Elements positioned in the left half stay anchored to left edge,
-	 * right half stays anchored to right edge.
+	 * Get scaled X position using anchor-based scaling (see {@link HudSnapshot.Layout}).
 	 */
 	private int getScaledX(int originalX, int currentWidth) {
-		if (referenceWidth <= 0) {
-			// No reference set, just clamp to screen
-			return Math.min(originalX, Math.max(0, currentWidth - 50));
-		}
-		
-		// Determine if element was in left or right half
-		int halfRef = referenceWidth / 2;
-		
-		if (originalX < halfRef) {
-			// Left half: keep absolute position from left edge
-			// But clamp to ensure it stays on screen
-			return Math.min(originalX, Math.max(0, currentWidth - 50));
-		} else {
-			// Right half: maintain distance from right edge
-			int distFromRight = referenceWidth - originalX;
-			return Math.max(0, currentWidth - distFromRight);
-		}
+		return HudSnapshot.Layout.scaleX(originalX, referenceWidth, currentWidth);
 	}
 	
 	/**
-	 * Get scaled Y position using anchor-based scaling.
-	 * Elements in top half stay anchored to top, bottom half stays anchored to bottom.
+	 * Get scaled Y position using anchor-based scaling (see {@link HudSnapshot.Layout}).
 	 */
 	private int getScaledY(int originalY, int currentHeight) {
-		if (referenceHeight <= 0) {
-			// No reference set, just clamp to screen
-			return Math.min(originalY, Math.max(0, currentHeight - 20));
-		}
-		
-		// Determine if element was in top or bottom half
-		int halfRef = referenceHeight / 2;
-		
-		if (originalY < halfRef) {
-			// Top half: keep absolute position from top edge
-			// But clamp to ensure it stays on screen
-			return Math.min(originalY, Math.max(0, currentHeight - 20));
-		} else {
-			// Bottom half: maintain distance from bottom edge
-			int distFromBottom = referenceHeight - originalY;
-			return Math.max(0, currentHeight - distFromBottom);
-		}
+		return HudSnapshot.Layout.scaleY(originalY, referenceHeight, currentHeight);
 	}
 	
 	/**
@@ -304,6 +484,20 @@ public class SimpleFPSConfig {
 		return getScaledY(timeClockY, currentHeight);
 	}
 	
+	/**
+	 * Get scaled X position for Memory based on current screen size.
+	 */
+	public int getScaledMemoryX(int currentWidth) {
+		return getScaledX(memoryX, currentWidth);
+	}
+	
+	/**
+	 * Get scaled Y position for Memory based on current screen size.
+	 */
+	public int getScaledMemoryY(int currentHeight) {
+		return getScaledY(memoryY, currentHeight);
+	}
+	
 	/**
 	 * Update reference resolution to current screen size.
 	 * Call this when user drags an element to a new position.
@@ -318,64 +512,7 @@ public class SimpleFPSConfig {
 	 */
 	public SimpleFPSConfig copy() {
 		SimpleFPSConfig copy = new SimpleFPSConfig();
-		// FPS Counter
-		copy.enabled = this.enabled;
-		copy.showLabel = this.showLabel;
-		copy.showDirection = this.showDirection;
-		copy.positionX = this.positionX;
-		copy.positionY = this.positionY;
-		copy.textColor = this.textColor;
-		copy.textSize = this.textSize;
-		copy.textOpacity = this.textOpacity;
-		copy.showBackground = this.showBackground;
-		copy.backgroundColor = this.backgroundColor;
-		copy.backgroundOpacity = this.backgroundOpacity;
-		copy.adaptiveColorEnabled = this.adaptiveColorEnabled;
-		copy.lowFpsThreshold = this.lowFpsThreshold;
-		copy.highFpsThreshold = this.highFpsThreshold;
-		// Graph
-		copy.graphEnabled = this.graphEnabled;
-		copy.graphX = this.graphX;
-		copy.graphY = this.graphY;
-		copy.graphScale = this.graphScale;
-		copy.graphShowBackground = this.graphShowBackground;
-		copy.graphLowFpsThreshold = this.graphLowFpsThreshold;
-		copy.graphHighFpsThreshold = this.graphHighFpsThreshold;
-		// Coordinates
-		copy.coordinatesEnabled = this.coordinatesEnabled;
-		copy.coordinatesX = this.coordinatesX;
-		copy.coordinatesY = this.coordinatesY;
-		copy.coordinatesTextColor = this.coordinatesTextColor;
-		copy.coordinatesTextSize = this.coordinatesTextSize;
-		copy.coordinatesTextOpacity = this.coordinatesTextOpacity;
-		copy.coordinatesShowBackground = this.coordinatesShowBackground;
-		copy.coordinatesBackgroundColor = this.coordinatesBackgroundColor;
-		copy.coordinatesBackgroundOpacity = this.coordinatesBackgroundOpacity;
-		// Biome
-		copy.biomeEnabled = this.biomeEnabled;
-		copy.biomeX = this.biomeX;
-		copy.biomeY = this.biomeY;
-		copy.biomeTextColor = this.biomeTextColor;
-		copy.biomeTextSize = this.biomeTextSize;
-		copy.biomeTextOpacity = this.biomeTextOpacity;
-		copy.biomeShowBackground = this.biomeShowBackground;
-		copy.biomeBackgroundColor = this.biomeBackgroundColor;
-		copy.biomeBackgroundOpacity = this.biomeBackgroundOpacity;
-		// Time Clock
-		copy.timeClockEnabled = this.timeClockEnabled;
-		copy.timeClockX = this.timeClockX;
-		copy.timeClockY = this.timeClockY;
-		copy.timeClockTextColor = this.timeClockTextColor;
-		copy.timeClockTextSize = this.timeClockTextSize;
-		copy.timeClockTextOpacity = this.timeClockTextOpacity;
-		copy.timeClockShowBackground = this.timeClockShowBackground;
-		copy.timeClockBackgroundColor = this.timeClockBackgroundColor;
-		copy.timeClockBackgroundOpacity = this.timeClockBackgroundOpacity;
-		copy.timeClock24Hour = this.timeClock24Hour;
-		copy.timeClockMinimalist = this.timeClockMinimalist;
-		// Reference resolution
-		copy.referenceWidth = this.referenceWidth;
-		copy.referenceHeight = this.referenceHeight;
+		ConfigFields.copy(this, copy);
 		return copy;
 	}
 	
@@ -383,64 +520,7 @@ public class SimpleFPSConfig {
 	 * Copies values from another config into this one.
 	 */
 	public void copyFrom(SimpleFPSConfig other) {
-		// FPS Counter
-		this.enabled = other.enabled;
-		this.showLabel = other.showLabel;
-		this.showDirection = other.showDirection;
-		this.positionX = other.positionX;
-		this.positionY = other.positionY;
-		this.textColor = other.textColor;
-		this.textSize = other.textSize;
-		this.textOpacity = other.textOpacity;
-		this.showBackground = other.showBackground;
-		this.backgroundColor = other.backgroundColor;
-		this.backgroundOpacity = other.backgroundOpacity;
-		this.adaptiveColorEnabled = other.adaptiveColorEnabled;
-		this.lowFpsThreshold = other.lowFpsThreshold;
-		this.highFpsThreshold = other.highFpsThreshold;
-		// Graph
-		this.graphEnabled = other.graphEnabled;
-		this.graphX = other.graphX;
-		this.graphY = other.graphY;
-		this.graphScale = other.graphScale;
-		this.graphShowBackground = other.graphShowBackground;
-		this.graphLowFpsThreshold = other.graphLowFpsThreshold;
-		this.graphHighFpsThreshold = other.graphHighFpsThreshold;
-		// Coordinates
-		this.coordinatesEnabled = other.coordinatesEnabled;
-		this.coordinatesX = other.coordinatesX;
-		this.coordinatesY = other.coordinatesY;
-		this.coordinatesTextColor = other.coordinatesTextColor;
-		this.coordinatesTextSize = other.coordinatesTextSize;
-		this.coordinatesTextOpacity = other.coordinatesTextOpacity;
-		this.coordinatesShowBackground = other.coordinatesShowBackground;
-		this.coordinatesBackgroundColor = other.coordinatesBackgroundColor;
-		this.coordinatesBackgroundOpacity = other.coordinatesBackgroundOpacity;
-		// Biome
-		this.biomeEnabled = other.biomeEnabled;
-		this.biomeX = other.biomeX;
-		this.biomeY = other.biomeY;
-		this.biomeTextColor = other.biomeTextColor;
-		this.biomeTextSize = other.biomeTextSize;
-		this.biomeTextOpacity = other.biomeTextOpacity;
-		this.biomeShowBackground = other.biomeShowBackground;
-		this.biomeBackgroundColor = other.biomeBackgroundColor;
-		this.biomeBackgroundOpacity = other.biomeBackgroundOpacity;
-		// Time Clock
-		this.timeClockEnabled = other.timeClockEnabled;
-		this.timeClockX = other.timeClockX;
-		this.timeClockY = other.timeClockY;
-		this.timeClockTextColor = other.timeClockTextColor;
-		this.timeClockTextSize = other.timeClockTextSize;
-		this.timeClockTextOpacity = other.timeClockTextOpacity;
-		this.timeClockShowBackground = other.timeClockShowBackground;
-		this.timeClockBackgroundColor = other.timeClockBackgroundColor;
-		this.timeClockBackgroundOpacity = other.timeClockBackgroundOpacity;
-		this.timeClock24Hour = other.timeClock24Hour;
-		this.timeClockMinimalist = other.timeClockMinimalist;
-		// Reference resolution
-		this.referenceWidth = other.referenceWidth;
-		this.referenceHeight = other.referenceHeight;
+		ConfigFields.copy(other, this);
 	}
 	
 	// ==================== Color Helper Methods ====================
@@ -449,54 +529,56 @@ public class SimpleFPSConfig {
 	 * Get coordinates text color with alpha applied.
 	 */
 	public int getCoordinatesTextColorWithAlpha() {
-		int rgb = parseHexColor(coordinatesTextColor);
-		int alpha = (int) (255 * (coordinatesTextOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedCoordinatesTextColor.get(coordinatesTextColor, coordinatesTextOpacity);
 	}
 	
 	/**
 	 * Get coordinates background color with alpha applied.
 	 */
 	public int getCoordinatesBackgroundColorWithAlpha() {
-		int rgb = parseHexColor(coordinatesBackgroundColor);
-		int alpha = (int) (255 * (coordinatesBackgroundOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedCoordinatesBackgroundColor.get(coordinatesBackgroundColor, coordinatesBackgroundOpacity);
 	}
 	
 	/**
 	 * Get biome text color with alpha applied.
 	 */
 	public int getBiomeTextColorWithAlpha() {
-		int rgb = parseHexColor(biomeTextColor);
-		int alpha = (int) (255 * (biomeTextOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedBiomeTextColor.get(biomeTextColor, biomeTextOpacity);
 	}
 	
 	/**
 	 * Get biome background color with alpha applied.
 	 */
 	public int getBiomeBackgroundColorWithAlpha() {
-		int rgb = parseHexColor(biomeBackgroundColor);
-		int alpha = (int) (255 * (biomeBackgroundOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedBiomeBackgroundColor.get(biomeBackgroundColor, biomeBackgroundOpacity);
 	}
 	
 	/**
 	 * Get time clock text color with alpha applied.
 	 */
 	public int getTimeClockTextColorWithAlpha() {
-		int rgb = parseHexColor(timeClockTextColor);
-		int alpha = (int) (255 * (timeClockTextOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedTimeClockTextColor.get(timeClockTextColor, timeClockTextOpacity);
 	}
 	
 	/**
 	 * Get time clock background color with alpha applied.
 	 */
 	public int getTimeClockBackgroundColorWithAlpha() {
-		int rgb = parseHexColor(timeClockBackgroundColor);
-		int alpha = (int) (255 * (timeClockBackgroundOpacity / 100.0f));
-		return (alpha << 24) | rgb;
+		return resolvedTimeClockBackgroundColor.get(timeClockBackgroundColor, timeClockBackgroundOpacity);
+	}
+	
+	/**
+	 * Get memory text color with alpha applied.
+	 */
+	public int getMemoryTextColorWithAlpha() {
+		return resolvedMemoryTextColor.get(memoryTextColor, memoryTextOpacity);
+	}
+	
+	/**
+	 * Get memory background color with alpha applied.
+	 */
+	public int getMemoryBackgroundColorWithAlpha() {
+		return resolvedMemoryBackgroundColor.get(memoryBackgroundColor, memoryBackgroundOpacity);
 	}
 	
 	/**
@@ -512,4 +594,26 @@ public class SimpleFPSConfig {
 			return 0xFFFF55; // Yellow
 		}
 	}
+	
+	/**
+	 * A hex color and opacity resolved to ARGB. The strings are compared by
+	 * reference, so assigning a new color string is enough to invalidate it
+	 * and the render thread never parses an unchanged color.
+	 */
+	private static final class ResolvedColor {
+		private String hex;
+		private int opacity = -1;
+		private int argb;
+		
+		int get(String hex, int opacity) {
+			if (hex != this.hex || opacity != this.opacity) {
+				int rgb = parseHexColor(hex);
+				int alpha = (int) (255 * (opacity / 100.0f));
+				this.argb = (alpha << 24) | rgb;
+				this.hex = hex;
+				this.opacity = opacity;
+			}
+			return argb;
+		}
+	}
 }
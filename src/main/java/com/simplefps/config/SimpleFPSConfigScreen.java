@@ -55,7 +55,8 @@ public class SimpleFPSConfigScreen extends Screen {
 	public SimpleFPSConfigScreen(Screen parent) {
 		super(Text.literal("SimpleFPS Configuration"));
 		this.parent = parent;
-		this.config = SimpleFPSConfig.getInstance();
+		// Edit a copy; changes are committed as they are made so the HUD previews them
+		this.config = SimpleFPSConfig.getInstance().copy();
 	}
 	
 	@Override
@@ -137,6 +138,86 @@ public class SimpleFPSConfigScreen extends Screen {
 		configRows.add(new ConfigRow(showDirectionBtn, showDirectionReset,
 			"Show facing direction (N/E/S/W) after FPS. (Default: OFF)", rowIndex++));
 		
+		// FPS Refresh Interval cycle button
+		ButtonWidget refreshIntervalBtn = ButtonWidget.builder(
+			Text.literal("FPS Refresh: " + formatRefreshInterval(config.refreshInterval)),
+			button -> {
+				config.refreshInterval = nextRefreshInterval(config.refreshInterval);
+				button.setMessage(Text.literal("FPS Refresh: " + formatRefreshInterval(config.refreshInterval)));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget refreshIntervalReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.refreshInterval = SimpleFPSConfig.REFRESH_EVERY_FRAME;
+				refreshIntervalBtn.setMessage(Text.literal("FPS Refresh: " + formatRefreshInterval(config.refreshInterval)));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(refreshIntervalBtn, refreshIntervalReset,
+			"How often the FPS value is updated. 250 ms is four times a second. (Default: Every Frame)", rowIndex++));
+		
+		// HUD Cache toggle
+		ButtonWidget hudCacheBtn = ButtonWidget.builder(
+			Text.literal("HUD Cache: " + (config.hudCacheEnabled ? "ON" : "OFF")),
+			button -> {
+				config.hudCacheEnabled = !config.hudCacheEnabled;
+				button.setMessage(Text.literal("HUD Cache: " + (config.hudCacheEnabled ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget hudCacheReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.hudCacheEnabled = false;
+				hudCacheBtn.setMessage(Text.literal("HUD Cache: OFF"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(hudCacheBtn, hudCacheReset,
+			"Redraw the last HUD frame while nothing on it changed. (Default: OFF)", rowIndex++));
+		
+		// Session Auto-Record toggle
+		ButtonWidget sessionAutoRecordBtn = ButtonWidget.builder(
+			Text.literal("Record Sessions: " + (config.sessionAutoRecord ? "ON" : "OFF")),
+			button -> {
+				config.sessionAutoRecord = !config.sessionAutoRecord;
+				button.setMessage(Text.literal("Record Sessions: " + (config.sessionAutoRecord ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget sessionAutoRecordReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.sessionAutoRecord = false;
+				sessionAutoRecordBtn.setMessage(Text.literal("Record Sessions: OFF"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(sessionAutoRecordBtn, sessionAutoRecordReset,
+			"Record every frame time to simplefps/sessions while in a world. (Default: OFF)", rowIndex++));
+		
+		// Benchmark length slider
+		IntSlider benchmarkDurationSlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Benchmark Length", 5, 600, config.benchmarkDuration, " s");
+		ButtonWidget benchmarkDurationReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> benchmarkDurationSlider.setValue(60, 5, 600)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(benchmarkDurationSlider, benchmarkDurationReset,
+			"Seconds a benchmark records frames for. (Default: 60)", rowIndex++));
+		
+		// Stutter threshold slider
+		IntSlider stutterThresholdSlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Stutter Threshold", 10, 1000, config.benchmarkStutterThreshold, " ms");
+		ButtonWidget stutterThresholdReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> stutterThresholdSlider.setValue(50, 10, 1000)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(stutterThresholdSlider, stutterThresholdReset,
+			"Benchmark frames longer than this count as stutters. (Default: 50)", rowIndex++));
+		
 		// === APPEARANCE SECTION ===
 		configRows.add(new ConfigRow("§e§l[ Appearance ]", rowIndex++, true));
 		
@@ -150,6 +231,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.textColor, color -> {
 					config.textColor = color;
+					SimpleFPSConfig.commit(config);
 					textColorField.setText(color);
 				}));
 			}
@@ -196,6 +278,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.backgroundColor, color -> {
 					config.backgroundColor = color;
+					SimpleFPSConfig.commit(config);
 					bgColorField.setText(color);
 				}));
 			}
@@ -314,6 +397,36 @@ public class SimpleFPSConfigScreen extends Screen {
 		configRows.add(new ConfigRow(highFpsSlider, highFpsReset,
 			"FPS at or above this shows as green. (Default: 60)", rowIndex++));
 		
+		// Hitch flash toggle
+		ButtonWidget hitchFlashBtn = ButtonWidget.builder(
+			Text.literal("Flash on Hitch: " + (config.hitchFlash ? "ON" : "OFF")),
+			button -> {
+				config.hitchFlash = !config.hitchFlash;
+				button.setMessage(Text.literal("Flash on Hitch: " + (config.hitchFlash ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget hitchFlashReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.hitchFlash = false;
+				hitchFlashBtn.setMessage(Text.literal("Flash on Hitch: OFF"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(hitchFlashBtn, hitchFlashReset,
+			"Briefly show the FPS counter in red after a hitch. (Default: OFF)", rowIndex++));
+		
+		// Hitch multiplier slider
+		IntSlider hitchMultiplierSlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Hitch Multiplier", 2, 10, config.hitchMultiplier, "x");
+		ButtonWidget hitchMultiplierReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> hitchMultiplierSlider.setValue(3, 2, 10)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(hitchMultiplierSlider, hitchMultiplierReset,
+			"A frame this many times slower than the recent median is a hitch. (Default: 3)", rowIndex++));
+		
 		// === FPS GRAPH SECTION ===
 		configRows.add(new ConfigRow("§e§l[ FPS Graph ]", rowIndex++, true));
 		
@@ -357,6 +470,96 @@ public class SimpleFPSConfigScreen extends Screen {
 		configRows.add(new ConfigRow(graphBgBtn, graphBgReset,
 			"Show a background behind the FPS graph. (Default: ON)", rowIndex++));
 		
+		// Graph Line Mode toggle
+		ButtonWidget graphLineModeBtn = ButtonWidget.builder(
+			Text.literal("Graph Style: " + (config.graphLineMode ? "Line" : "Bars")),
+			button -> {
+				config.graphLineMode = !config.graphLineMode;
+				button.setMessage(Text.literal("Graph Style: " + (config.graphLineMode ? "Line" : "Bars")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget graphLineModeReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.graphLineMode = false;
+				graphLineModeBtn.setMessage(Text.literal("Graph Style: Bars"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(graphLineModeBtn, graphLineModeReset,
+			"Bars show FPS per half second, Line shows every frame time. (Default: Bars)", rowIndex++));
+		
+		// Graph Hitch Markers toggle
+		ButtonWidget graphHitchBtn = ButtonWidget.builder(
+			Text.literal("Hitch Markers: " + (config.graphHitchMarkers ? "ON" : "OFF")),
+			button -> {
+				config.graphHitchMarkers = !config.graphHitchMarkers;
+				button.setMessage(Text.literal("Hitch Markers: " + (config.graphHitchMarkers ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget graphHitchReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.graphHitchMarkers = true;
+				graphHitchBtn.setMessage(Text.literal("Hitch Markers: ON"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(graphHitchBtn, graphHitchReset,
+			"Mark hitches with an orange tick at the top of the graph. (Default: ON)", rowIndex++));
+		
+		// Graph GC Markers toggle
+		ButtonWidget graphGcBtn = ButtonWidget.builder(
+			Text.literal("GC Markers: " + (config.graphGcMarkers ? "ON" : "OFF")),
+			button -> {
+				config.graphGcMarkers = !config.graphGcMarkers;
+				button.setMessage(Text.literal("GC Markers: " + (config.graphGcMarkers ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget graphGcReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.graphGcMarkers = false;
+				graphGcBtn.setMessage(Text.literal("GC Markers: OFF"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(graphGcBtn, graphGcReset,
+			"Mark GC pauses at the bottom of the graph and show how many slow frames were GC. (Default: OFF)", rowIndex++));
+		
+		// Graph Percentiles toggle
+		ButtonWidget graphPercentilesBtn = ButtonWidget.builder(
+			Text.literal("Percentile Stats: " + (config.graphShowPercentiles ? "ON" : "OFF")),
+			button -> {
+				config.graphShowPercentiles = !config.graphShowPercentiles;
+				button.setMessage(Text.literal("Percentile Stats: " + (config.graphShowPercentiles ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget graphPercentilesReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.graphShowPercentiles = true;
+				graphPercentilesBtn.setMessage(Text.literal("Percentile Stats: ON"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(graphPercentilesBtn, graphPercentilesReset,
+			"Show 1% / 0.1% lows and p50/p95/p99 frame times. (Default: ON)", rowIndex++));
+		
+		// Graph Stats Window slider
+		IntSlider graphWindowSlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Stats Window", 5, 300, config.graphStatsWindow, " s");
+		ButtonWidget graphWindowReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> graphWindowSlider.setValue(30, 5, 300)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(graphWindowSlider, graphWindowReset,
+			"Seconds of frames covered by the percentile stats. (Default: 30)", rowIndex++));
+		
 		// Graph X slider
 		IntSlider graphXSlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Graph X", 0, screenWidth, config.graphX, " px");
 		final int graphXMax = screenWidth;
@@ -442,6 +645,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.coordinatesTextColor, color -> {
 					config.coordinatesTextColor = color;
+					SimpleFPSConfig.commit(config);
 					coordColorField.setText(color);
 				}));
 			}
@@ -488,6 +692,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.coordinatesBackgroundColor, color -> {
 					config.coordinatesBackgroundColor = color;
+					SimpleFPSConfig.commit(config);
 					coordBgColorField.setText(color);
 				}));
 			}
@@ -534,6 +739,26 @@ public class SimpleFPSConfigScreen extends Screen {
 		configRows.add(new ConfigRow(coordBgOpacitySlider, coordBgOpacityReset,
 			"Coordinates background opacity. (Default: 50%)", rowIndex++));
 		
+		// Coord Refresh Interval cycle button
+		ButtonWidget coordRefreshBtn = ButtonWidget.builder(
+			Text.literal("Coord Refresh: " + formatRefreshInterval(config.coordinatesRefreshInterval)),
+			button -> {
+				config.coordinatesRefreshInterval = nextRefreshInterval(config.coordinatesRefreshInterval);
+				button.setMessage(Text.literal("Coord Refresh: " + formatRefreshInterval(config.coordinatesRefreshInterval)));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget coordRefreshReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.coordinatesRefreshInterval = SimpleFPSConfig.REFRESH_EVERY_TICK;
+				coordRefreshBtn.setMessage(Text.literal("Coord Refresh: " + formatRefreshInterval(config.coordinatesRefreshInterval)));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(coordRefreshBtn, coordRefreshReset,
+			"How often the coordinates are updated. (Default: Every Tick)", rowIndex++));
+		
 		// === BIOME SECTION ===
 		configRows.add(new ConfigRow("§e§l[ Biome ]", rowIndex++, true));
 		
@@ -567,6 +792,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.biomeTextColor, color -> {
 					config.biomeTextColor = color;
+					SimpleFPSConfig.commit(config);
 					biomeColorField.setText(color);
 				}));
 			}
@@ -613,6 +839,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.biomeBackgroundColor, color -> {
 					config.biomeBackgroundColor = color;
+					SimpleFPSConfig.commit(config);
 					biomeBgColorField.setText(color);
 				}));
 			}
@@ -659,6 +886,26 @@ public class SimpleFPSConfigScreen extends Screen {
 		configRows.add(new ConfigRow(biomeBgOpacitySlider, biomeBgOpacityReset,
 			"Biome background opacity. (Default: 50%)", rowIndex++));
 		
+		// Biome Refresh Interval cycle button
+		ButtonWidget biomeRefreshBtn = ButtonWidget.builder(
+			Text.literal("Biome Refresh: " + formatRefreshInterval(config.biomeRefreshInterval)),
+			button -> {
+				config.biomeRefreshInterval = nextRefreshInterval(config.biomeRefreshInterval);
+				button.setMessage(Text.literal("Biome Refresh: " + formatRefreshInterval(config.biomeRefreshInterval)));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget biomeRefreshReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.biomeRefreshInterval = SimpleFPSConfig.REFRESH_EVERY_TICK;
+				biomeRefreshBtn.setMessage(Text.literal("Biome Refresh: " + formatRefreshInterval(config.biomeRefreshInterval)));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(biomeRefreshBtn, biomeRefreshReset,
+			"How often the biome name is updated. (Default: Every Tick)", rowIndex++));
+		
 		// === TIME CLOCK SECTION ===
 		configRows.add(new ConfigRow("§e§l[ Time Clock ]", rowIndex++, true));
 		
@@ -732,6 +979,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.timeClockTextColor, color -> {
 					config.timeClockTextColor = color;
+					SimpleFPSConfig.commit(config);
 					timeClockColorField.setText(color);
 				}));
 			}
@@ -778,6 +1026,7 @@ public class SimpleFPSConfigScreen extends Screen {
 			button -> {
 				client.setScreen(new ColorPickerScreen(this, config.timeClockBackgroundColor, color -> {
 					config.timeClockBackgroundColor = color;
+					SimpleFPSConfig.commit(config);
 					timeClockBgColorField.setText(color);
 				}));
 			}
@@ -824,6 +1073,173 @@ public class SimpleFPSConfigScreen extends Screen {
 		configRows.add(new ConfigRow(timeClockBgOpacitySlider, timeClockBgOpacityReset,
 			"Time clock background opacity. (Default: 50%)", rowIndex++));
 		
+		// Clock Refresh Interval cycle button
+		ButtonWidget timeClockRefreshBtn = ButtonWidget.builder(
+			Text.literal("Clock Refresh: " + formatRefreshInterval(config.timeClockRefreshInterval)),
+			button -> {
+				config.timeClockRefreshInterval = nextRefreshInterval(config.timeClockRefreshInterval);
+				button.setMessage(Text.literal("Clock Refresh: " + formatRefreshInterval(config.timeClockRefreshInterval)));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget timeClockRefreshReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.timeClockRefreshInterval = SimpleFPSConfig.REFRESH_EVERY_TICK;
+				timeClockRefreshBtn.setMessage(Text.literal("Clock Refresh: " + formatRefreshInterval(config.timeClockRefreshInterval)));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(timeClockRefreshBtn, timeClockRefreshReset,
+			"How often the time clock is updated. (Default: Every Tick)", rowIndex++));
+		
+		// === MEMORY SECTION ===
+		configRows.add(new ConfigRow("§e§l[ Memory ]", rowIndex++, true));
+		
+		// Memory Enabled toggle
+		ButtonWidget memoryEnabledBtn = ButtonWidget.builder(
+			Text.literal("Memory: " + (config.memoryEnabled ? "ON" : "OFF")),
+			button -> {
+				config.memoryEnabled = !config.memoryEnabled;
+				button.setMessage(Text.literal("Memory: " + (config.memoryEnabled ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget memoryEnabledReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.memoryEnabled = false;
+				memoryEnabledBtn.setMessage(Text.literal("Memory: OFF"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryEnabledBtn, memoryEnabledReset,
+			"Show heap usage, allocation rate and GC pauses. (Default: OFF)", rowIndex++));
+		
+		// Memory Text Color
+		TextFieldWidget memoryColorField = new TextFieldWidget(textRenderer, widgetX, 0, WIDGET_WIDTH - 55, 20, Text.literal(""));
+		memoryColorField.setText(config.memoryTextColor);
+		memoryColorField.setMaxLength(7);
+		
+		ButtonWidget memoryColorPick = ButtonWidget.builder(
+			Text.literal("Pick"),
+			button -> {
+				client.setScreen(new ColorPickerScreen(this, config.memoryTextColor, color -> {
+					config.memoryTextColor = color;
+					SimpleFPSConfig.commit(config);
+					memoryColorField.setText(color);
+				}));
+			}
+		).dimensions(widgetX + WIDGET_WIDTH - 50, 0, 50, 20).build();
+		
+		ButtonWidget memoryColorReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.memoryTextColor = "#FFFFFF";
+				memoryColorField.setText("#FFFFFF");
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryColorField, memoryColorPick, memoryColorReset,
+			"Memory text color. (Default: #FFFFFF)", rowIndex++));
+		
+		// Memory Background toggle
+		ButtonWidget memoryBgBtn = ButtonWidget.builder(
+			Text.literal("Memory BG: " + (config.memoryShowBackground ? "ON" : "OFF")),
+			button -> {
+				config.memoryShowBackground = !config.memoryShowBackground;
+				button.setMessage(Text.literal("Memory BG: " + (config.memoryShowBackground ? "ON" : "OFF")));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget memoryBgReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.memoryShowBackground = true;
+				memoryBgBtn.setMessage(Text.literal("Memory BG: ON"));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryBgBtn, memoryBgReset,
+			"Show background behind memory display. (Default: ON)", rowIndex++));
+		
+		// Memory Background Color
+		TextFieldWidget memoryBgColorField = new TextFieldWidget(textRenderer, widgetX, 0, WIDGET_WIDTH - 55, 20, Text.literal(""));
+		memoryBgColorField.setText(config.memoryBackgroundColor);
+		memoryBgColorField.setMaxLength(7);
+		
+		ButtonWidget memoryBgColorPick = ButtonWidget.builder(
+			Text.literal("Pick"),
+			button -> {
+				client.setScreen(new ColorPickerScreen(this, config.memoryBackgroundColor, color -> {
+					config.memoryBackgroundColor = color;
+					SimpleFPSConfig.commit(config);
+					memoryBgColorField.setText(color);
+				}));
+			}
+		).dimensions(widgetX + WIDGET_WIDTH - 50, 0, 50, 20).build();
+		
+		ButtonWidget memoryBgColorReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.memoryBackgroundColor = "#000000";
+				memoryBgColorField.setText("#000000");
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryBgColorField, memoryBgColorPick, memoryBgColorReset,
+			"Memory background color. (Default: #000000)", rowIndex++));
+		
+		// Memory Text Size slider
+		FloatSlider memorySizeSlider = new FloatSlider(widgetX, 0, WIDGET_WIDTH, 20, "Memory Size", 0.5f, 2.0f, config.memoryTextSize, "x");
+		ButtonWidget memorySizeReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> memorySizeSlider.setValue(1.0f)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memorySizeSlider, memorySizeReset,
+			"Memory text size. (Default: 1.0x)", rowIndex++));
+		
+		// Memory Text Opacity slider
+		IntSlider memoryOpacitySlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Memory Opacity", 0, 100, config.memoryTextOpacity, "%");
+		ButtonWidget memoryOpacityReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> memoryOpacitySlider.setValue(100, 0, 100)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryOpacitySlider, memoryOpacityReset,
+			"Memory text opacity. (Default: 100%)", rowIndex++));
+		
+		// Memory Background Opacity slider
+		IntSlider memoryBgOpacitySlider = new IntSlider(widgetX, 0, WIDGET_WIDTH, 20, "Memory BG Op", 0, 100, config.memoryBackgroundOpacity, "%");
+		ButtonWidget memoryBgOpacityReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> memoryBgOpacitySlider.setValue(50, 0, 100)
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryBgOpacitySlider, memoryBgOpacityReset,
+			"Memory background opacity. (Default: 50%)", rowIndex++));
+		
+		// Memory Refresh Interval cycle button
+		ButtonWidget memoryRefreshBtn = ButtonWidget.builder(
+			Text.literal("Memory Refresh: " + formatRefreshInterval(config.memoryRefreshInterval)),
+			button -> {
+				config.memoryRefreshInterval = nextRefreshInterval(config.memoryRefreshInterval);
+				button.setMessage(Text.literal("Memory Refresh: " + formatRefreshInterval(config.memoryRefreshInterval)));
+			}
+		).dimensions(widgetX, 0, WIDGET_WIDTH, 20).build();
+		
+		ButtonWidget memoryRefreshReset = ButtonWidget.builder(
+			Text.literal("Reset"),
+			button -> {
+				config.memoryRefreshInterval = SimpleFPSConfig.REFRESH_EVERY_TICK;
+				memoryRefreshBtn.setMessage(Text.literal("Memory Refresh: " + formatRefreshInterval(config.memoryRefreshInterval)));
+			}
+		).dimensions(resetX, 0, RESET_BTN_WIDTH, 20).build();
+		
+		configRows.add(new ConfigRow(memoryRefreshBtn, memoryRefreshReset,
+			"How often the memory display is updated. (Default: Every Tick)", rowIndex++));
+		
 		// Calculate max scroll offset
 		int totalContentHeight = rowIndex * ROW_HEIGHT;
 		maxScrollOffset = Math.max(0, totalContentHeight - visibleHeight);
@@ -871,7 +1287,7 @@ public class SimpleFPSConfigScreen extends Screen {
 		}
 		// Update reference resolution so positions scale correctly when window is resized
 		config.updateReferenceResolution(this.width, this.height);
-		config.save();
+		SimpleFPSConfig.commit(config).save();
 	}
 	
 	@Override
@@ -982,7 +1398,12 @@ public class SimpleFPSConfigScreen extends Screen {
 				return true;
 			}
 		}
-		return super.mouseClicked(click, doubleClick);
+		boolean handled = super.mouseClicked(click, doubleClick);
+		if (handled) {
+			// Buttons edit the working copy directly
+			SimpleFPSConfig.commit(config);
+		}
+		return handled;
 	}
 	
 	@Override
@@ -1003,7 +1424,11 @@ public class SimpleFPSConfigScreen extends Screen {
 			scrollOffset = Math.max(0, Math.min(maxScrollOffset, scrollOffset));
 			return true;
 		}
-		return super.mouseDragged(click, deltaX, deltaY);
+		boolean handled = super.mouseDragged(click, deltaX, deltaY);
+		if (handled) {
+			SimpleFPSConfig.commit(config);
+		}
+		return handled;
 	}
 	
 	@Override
@@ -1019,6 +1444,32 @@ public class SimpleFPSConfigScreen extends Screen {
 		client.setScreen(parent);
 	}
 	
+	// Values the refresh interval buttons cycle through
+	private static final int[] REFRESH_INTERVAL_PRESETS = {
+		SimpleFPSConfig.REFRESH_EVERY_FRAME, SimpleFPSConfig.REFRESH_EVERY_TICK, 100, 250, 500, 1000
+	};
+	
+	/**
+	 * Gets the preset after the given interval (a value set in the file
+	 * that isn't a preset cycles back to the first one).
+	 */
+	private static int nextRefreshInterval(int interval) {
+		for (int i = 0; i < REFRESH_INTERVAL_PRESETS.length - 1; i++) {
+			if (REFRESH_INTERVAL_PRESETS[i] == interval) {
+				return REFRESH_INTERVAL_PRESETS[i + 1];
+			}
+		}
+		return REFRESH_INTERVAL_PRESETS[0];
+	}
+	
+	private static String formatRefreshInterval(int interval) {
+		return switch (interval) {
+			case SimpleFPSConfig.REFRESH_EVERY_FRAME -> "Every Frame";
+			case SimpleFPSConfig.REFRESH_EVERY_TICK -> "Every Tick";
+			default -> interval + " ms";
+		};
+	}
+	
 	// =====================================================================
 	// CONFIG ROW CLASS
 	// =====================================================================
@@ -1157,6 +1608,12 @@ public class SimpleFPSConfigScreen extends Screen {
 					case "Graph Scale" -> config.graphScale = value;
 					case "Graph Low" -> config.graphLowFpsThreshold = value;
 					case "Graph High" -> config.graphHighFpsThreshold = value;
+					case "Stats Window" -> config.graphStatsWindow = value;
+					case "Benchmark Length" -> config.benchmarkDuration = value;
+					case "Stutter Threshold" -> config.benchmarkStutterThreshold = value;
+					case "Hitch Multiplier" -> config.hitchMultiplier = value;
+					case "Memory Opacity" -> config.memoryTextOpacity = value;
+					case "Memory BG Op" -> config.memoryBackgroundOpacity = value;
 				}
 			} else if (slider instanceof FloatSlider floatSlider) {
 				String label = floatSlider.getLabel();
@@ -1164,6 +1621,8 @@ public class SimpleFPSConfigScreen extends Screen {
 				
 				if ("Text Size".equals(label)) {
 					config.textSize = value;
+				} else if ("Memory Size".equals(label)) {
+					config.memoryTextSize = value;
 				}
 			}
 			
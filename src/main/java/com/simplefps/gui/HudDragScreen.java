@@ -6,6 +6,8 @@ import com.simplefps.hud.FPSGraphRenderer;
 import com.simplefps.hud.CoordinatesRenderer;
 import com.simplefps.hud.BiomeRenderer;
 import com.simplefps.hud.TimeClockRenderer;
+import com.simplefps.hud.MemoryRenderer;
+import com.simplefps.hud.FrameTimeRecorder;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 import net.minecraft.client.gui.screen.Screen;
@@ -22,7 +24,7 @@ public class HudDragScreen extends Screen {
 	private final SimpleFPSConfig config;
 	
 	// Which element is being dragged
-	private enum DragTarget { NONE, FPS, GRAPH, COORDINATES, BIOME, TIMECLOCK }
+	private enum DragTarget { NONE, FPS, GRAPH, COORDINATES, BIOME, TIMECLOCK, MEMORY }
 	private DragTarget currentDrag = DragTarget.NONE;
 	
 	private int dragOffsetX = 0;
@@ -32,7 +34,8 @@ public class HudDragScreen extends Screen {
 	public HudDragScreen(Screen parent) {
 		super(Text.literal("Drag HUD Elements"));
 		this.parent = parent;
-		this.config = SimpleFPSConfig.getInstance();
+		// Edit a copy; every move is committed so the HUD preview follows the drag
+		this.config = SimpleFPSConfig.getInstance().copy();
 	}
 	
 	@Override
@@ -81,7 +84,7 @@ public class HudDragScreen extends Screen {
 			FPSGraphRenderer.renderGraph(context, true);
 			float scale = config.graphScale / 100f;
 			int graphWidth = (int) (150 * scale);
-			int graphHeight = (int) (50 * scale) + 24;
+			int graphHeight = FPSGraphRenderer.getTotalHeight(config.graphScale, config.graphShowPercentiles, config.graphGcMarkers);
 			drawElementBorder(context, config.graphX, config.graphY, 
 				graphWidth, graphHeight, currentDrag == DragTarget.GRAPH, "Graph");
 		}
@@ -107,6 +110,13 @@ public class HudDragScreen extends Screen {
 				getTimeClockWidth(), getTimeClockHeight(), currentDrag == DragTarget.TIMECLOCK, "Clock");
 		}
 		
+		// Memory
+		if (config.memoryEnabled) {
+			MemoryRenderer.render(context, true);
+			drawElementBorder(context, config.memoryX, config.memoryY,
+				getMemoryWidth(), getMemoryHeight(), currentDrag == DragTarget.MEMORY, "Memory");
+		}
+		
 		// Draw hint at bottom
 		String hint = "§7Enabled elements: ";
 		if (config.enabled) hint += "FPS ";
@@ -114,6 +124,7 @@ public class HudDragScreen extends Screen {
 		if (config.coordinatesEnabled) hint += "Coords ";
 		if (config.biomeEnabled) hint += "Biome ";
 		if (config.timeClockEnabled) hint += "Clock ";
+		if (config.memoryEnabled) hint += "Memory ";
 		context.drawCenteredTextWithShadow(this.textRenderer, Text.literal(hint), this.width / 2, this.height - 30, 0xAAAAAA);
 		
 		super.render(context, mouseX, mouseY, delta);
@@ -161,6 +172,18 @@ public class HudDragScreen extends Screen {
 			}
 		}
 		
+		// Check Memory
+		if (config.memoryEnabled) {
+			int w = getMemoryWidth();
+			int h = getMemoryHeight();
+			if (isInBounds(mouseX, mouseY, config.memoryX, config.memoryY, w, h)) {
+				currentDrag = DragTarget.MEMORY;
+				dragOffsetX = mouseX - config.memoryX;
+				dragOffsetY = mouseY - config.memoryY;
+				return;
+			}
+		}
+		
 		// Check Coordinates
 		if (config.coordinatesEnabled) {
 			int w = getCoordinatesWidth();
@@ -177,7 +200,7 @@ public class HudDragScreen extends Screen {
 		if (config.graphEnabled) {
 			float scale = config.graphScale / 100f;
 			int w = (int) (150 * scale);
-			int h = (int) (50 * scale) + 24;
+			int h = FPSGraphRenderer.getTotalHeight(config.graphScale, config.graphShowPercentiles, config.graphGcMarkers);
 			if (isInBounds(mouseX, mouseY, config.graphX, config.graphY, w, h)) {
 				currentDrag = DragTarget.GRAPH;
 				dragOffsetX = mouseX - config.graphX;
@@ -219,7 +242,7 @@ public class HudDragScreen extends Screen {
 			case GRAPH -> {
 				float scale = config.graphScale / 100f;
 				int w = (int) (150 * scale);
-				int h = (int) (50 * scale) + 24;
+				int h = FPSGraphRenderer.getTotalHeight(config.graphScale, config.graphShowPercentiles, config.graphGcMarkers);
 				config.graphX = clamp(mouseX - dragOffsetX, 0, screenWidth - w);
 				config.graphY = clamp(mouseY - dragOffsetY, 0, screenHeight - h);
 			}
@@ -241,8 +264,15 @@ public class HudDragScreen extends Screen {
 				config.timeClockX = clamp(mouseX - dragOffsetX, 0, screenWidth - w);
 				config.timeClockY = clamp(mouseY - dragOffsetY, 0, screenHeight - h);
 			}
+			case MEMORY -> {
+				int w = getMemoryWidth();
+				int h = getMemoryHeight();
+				config.memoryX = clamp(mouseX - dragOffsetX, 0, screenWidth - w);
+				config.memoryY = clamp(mouseY - dragOffsetY, 0, screenHeight - h);
+			}
 			case NONE -> {}
 		}
+		SimpleFPSConfig.commit(config);
 	}
 	
 	private void handleMouseRelease() {
@@ -254,7 +284,7 @@ public class HudDragScreen extends Screen {
 				client.getWindow().getScaledHeight()
 			);
 			currentDrag = DragTarget.NONE;
-			config.save();
+			SimpleFPSConfig.commit(config).save();
 		}
 	}
 	
@@ -264,7 +294,7 @@ public class HudDragScreen extends Screen {
 	
 	private int getFpsWidth() {
 		MinecraftClient client = MinecraftClient.getInstance();
-		int fps = client.getCurrentFps();
+		int fps = FrameTimeRecorder.getCurrentFps();
 		String text = config.showLabel ? fps + " FPS" : String.valueOf(fps);
 		if (config.showDirection && client.player != null) {
 			text += " N"; // Approximate width
@@ -310,9 +340,20 @@ public class HudDragScreen extends Screen {
 		return (int) (client.textRenderer.fontHeight * config.timeClockTextSize);
 	}
 	
+	private int getMemoryWidth() {
+		MinecraftClient client = MinecraftClient.getInstance();
+		String text = MemoryRenderer.getSampleText();
+		return (int) (client.textRenderer.getWidth(text) * config.memoryTextSize);
+	}
+	
+	private int getMemoryHeight() {
+		MinecraftClient client = MinecraftClient.getInstance();
+		return (int) (client.textRenderer.fontHeight * config.memoryTextSize);
+	}
+	
 	@Override
 	public void close() {
-		config.save();
+		SimpleFPSConfig.commit(config).save();
 		this.client.setScreen(parent);
 	}
 	
@@ -0,0 +1,62 @@
+package com.simplefps.hud;
+
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.world.biome.Biome;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Preformatted biome display names, keyed by biome registry key.
+ *
+ * Names are formatted once on first use and reused afterwards. The table is
+ * cleared on world join and disconnect, since a server can bring its own
+ * (data-driven) biome registry.
+ */
+public class BiomeNameCache {
+	private static final Map<RegistryKey<Biome>, String> names = new HashMap<>();
+	
+	/**
+	 * Gets the display name for a biome, formatting it on first use.
+	 * @param biomeKey The biome registry key, or null if unknown
+	 */
+	public static String getName(RegistryKey<Biome> biomeKey) {
+		if (biomeKey == null) {
+			return "Unknown";
+		}
+		String name = names.get(biomeKey);
+		if (name == null) {
+			name = formatBiomeName(biomeKey.getValue().getPath());
+			names.put(biomeKey, name);
+		}
+		return name;
+	}
+	
+	/**
+	 * Drops all cached names. Called when the biome registry may have changed.
+	 */
+	public static void clear() {
+		names.clear();
+	}
+	
+	/**
+	 * Converts a biome path to Title Case, e.g. "dark_forest" to "Dark Forest".
+	 */
+	public static String formatBiomeName(String biomePath) {
+		StringBuilder formatted = new StringBuilder(biomePath.length());
+		boolean startOfWord = true;
+		for (int i = 0; i < biomePath.length(); i++) {
+			char c = biomePath.charAt(i);
+			if (c == '_') {
+				startOfWord = true;
+				continue;
+			}
+			if (startOfWord && !formatted.isEmpty()) {
+				formatted.append(' ');
+			}
+			formatted.append(startOfWord ? Character.toUpperCase(c) : Character.toLowerCase(c));
+			startOfWord = false;
+		}
+		return formatted.toString();
+	}
+}
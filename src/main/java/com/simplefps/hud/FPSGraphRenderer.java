@@ -1,116 +1,195 @@
 package com.simplefps.hud;
 
-import com.simplefps.config.SimpleFPSConfig;
+import com.simplefps.config.HudSnapshot;
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.gui.DrawContext;
 
-import java.util.LinkedList;
-
-public class FPSGraphRenderer {
-	private static final LinkedList<Integer> fpsHistory = new LinkedList<>();
+public class FPSGraphRenderer implements HudElement {
+	public static final FPSGraphRenderer INSTANCE = new FPSGraphRenderer(new SampleHistory());
+	// Screen previews draw the same history with their own layout and change tracking
+	private static final FPSGraphRenderer PREVIEW = new FPSGraphRenderer(INSTANCE.history);
+	
 	private static final int MAX_SAMPLES = 60; // 60 samples for graph
-	private static long lastSampleTime = 0;
-	private static final long SAMPLE_INTERVAL = 500; // Sample every 500ms
+	private static final int HITCH_MARKER_COLOR = 0xFFFFAA00;
+	private static final int HITCH_MARKER_HEIGHT = 2;
+	// GC pause markers along the bottom edge
+	private static final int GC_MINOR_COLOR = 0xFF55FFFF;
+	private static final int GC_MAJOR_COLOR = 0xFFFF55FF;
+	private static final int GC_MARKER_HEIGHT = 2;
+	
+	// Percentile footer layout
+	private static final int STATS_TEXT_HEIGHT = 24; // 2 rows of text (labels + values)
+	private static final int PERCENTILE_TEXT_HEIGHT = 33; // 2 more rows plus the p50/p95 line
+	private static final int GC_TEXT_HEIGHT = 11; // GC share of slow frames
+	private static final String NO_P99_TEXT = "-";
+	private static final String NO_P50_P95_TEXT = "p50 - p95 -";
+	private static final String NO_GC_SHARE_TEXT = "GC stutters: -";
+	
+	private final SampleHistory history;
+	private HudSnapshot.Graph lastConfig = null;
+	
+	// Layout from the last measure pass
+	private HudSnapshot.Graph config;
+	private int x;
+	private int y;
+	private int width;
+	private int height;
+	private int totalHeight;
 	
-	private static int minFps = Integer.MAX_VALUE;
-	private static int maxFps = 0;
-	private static int avgFps = 0;
-	private static long lastStatsReset = 0;
-	private static final long STATS_RESET_INTERVAL = 30000; // Reset stats every 30 seconds
+	// Bumped whenever a new sample arrives (or every frame while there is no history yet)
+	private long contentVersion = 0;
+	private long drawnSampleSequence = -1;
+	private long drawnPauseCount = -1;
+	
+	// Reused every frame to coalesce the graph's solid fills
+	private final GraphQuadBuilder quads = new GraphQuadBuilder();
+	
+	// GC share footer, refreshed once per sample interval
+	private String gcShareText = NO_GC_SHARE_TEXT;
+	
+	private FPSGraphRenderer(SampleHistory history) {
+		this.history = history;
+	}
 	
+	/**
+	 * Pulls the latest completed sample interval into the graph history.
+	 */
 	public static void update() {
-		long currentTime = System.currentTimeMillis();
-		
-		// Reset stats every 30 seconds
-		if (currentTime - lastStatsReset >= STATS_RESET_INTERVAL) {
-			minFps = Integer.MAX_VALUE;
-			maxFps = 0;
-			lastStatsReset = currentTime;
-		}
-		
-		// Sample FPS at intervals
-		if (currentTime - lastSampleTime >= SAMPLE_INTERVAL) {
-			int currentFps = MinecraftClient.getInstance().getCurrentFps();
-			
-			fpsHistory.addLast(currentFps);
-			if (fpsHistory.size() > MAX_SAMPLES) {
-				fpsHistory.removeFirst();
+		INSTANCE.history.pull();
+	}
+	
+	private static int countHitches(long interval) {
+		int count = 0;
+		for (int age = 0, retained = HitchDetector.getRetainedEvents(); age < retained; age++) {
+			long hitchInterval = HitchDetector.getInterval(age);
+			if (hitchInterval < interval) {
+				break; // Older hitches only
 			}
-			
-			// Update min/max
-			if (currentFps < minFps) minFps = currentFps;
-			if (currentFps > maxFps) maxFps = currentFps;
-			
-			// Calculate average
-			if (!fpsHistory.isEmpty()) {
-				int sum = 0;
-				for (int fps : fpsHistory) {
-					sum += fps;
-				}
-				avgFps = sum / fpsHistory.size();
+			if (hitchInterval == interval) {
+				count++;
 			}
-			
-			lastSampleTime = currentTime;
 		}
+		return count;
 	}
 	
+	/**
+	 * Renders the graph.
+	 * @param context The draw context
+	 * @param isPreview If true, renders even when disabled or outside a world (drag screen)
+	 */
 	public static void renderGraph(DrawContext context, boolean isPreview) {
-		SimpleFPSConfig config = SimpleFPSConfig.getInstance();
-		
-		if (!config.graphEnabled && !isPreview) {
-			return;
+		HudPipeline.renderSingle(context, isPreview ? PREVIEW : INSTANCE, isPreview);
+	}
+	
+	@Override
+	public String getName() {
+		return "Graph";
+	}
+	
+	@Override
+	public boolean isEnabled(HudSnapshot snapshot) {
+		return snapshot.graph().enabled();
+	}
+	
+	@Override
+	public boolean update(HudFrame frame) {
+		if (frame.getClient().player == null && !frame.isPreview()) {
+			return false;
 		}
 		
-		MinecraftClient client = MinecraftClient.getInstance();
-		if (client.player == null && !isPreview) {
-			return;
+		// Update samples (percentile window follows the config)
+		config = frame.getSnapshot().graph();
+		if (config != lastConfig) {
+			FrameTimeRecorder.getStats().setWindowNanos(config.statsWindow() * 1_000_000_000L);
+			lastConfig = config;
 		}
+		history.pull();
+		boolean newSample = history.lastSampleSequence != drawnSampleSequence;
 		
-		// Update samples
-		update();
+		if (config.gcMarkers()) {
+			MemorySampler.ensureListening();
+			GcCorrelator.update(frame.getNanoTime());
+			if (newSample) {
+				GcCorrelator.refreshStats(frame.getNanoTime(), config.statsWindow() * 1_000_000_000L);
+				gcShareText = formatGcShare(GcCorrelator.getGcSlowFrames(), GcCorrelator.getSlowFrames());
+			}
+			// Pauses are reported after they happened, so markers can appear between samples
+			if (GcCorrelator.getPauseCount() != drawnPauseCount) {
+				drawnPauseCount = GcCorrelator.getPauseCount();
+				contentVersion++;
+			}
+		}
 		
+		// Only a new sample invalidates a recorded graph, also in line mode: with the
+		// HUD cache on, the frame time line moves once per sample instead of every frame.
+		// An empty history falls back to the current FPS, so it is redrawn every frame.
+		if (history.fpsHistory.isEmpty() || newSample) {
+			drawnSampleSequence = history.lastSampleSequence;
+			contentVersion++;
+		}
+		return true;
+	}
+	
+	@Override
+	public long getContentVersion() {
+		return contentVersion;
+	}
+	
+	@Override
+	public void measure(HudFrame frame) {
 		// Calculate dimensions based on scale
-		float scale = config.graphScale / 100f;
+		float scale = config.scale() / 100f;
 		int baseWidth = 150;
 		int baseHeight = 50;
-		int width = (int) (baseWidth * scale);
-		int height = (int) (baseHeight * scale);
-		int textHeight = 24; // Fixed height for 2 rows of text (labels + values)
-		int totalHeight = height + textHeight;
+		width = (int) (baseWidth * scale);
+		height = (int) (baseHeight * scale);
+		totalHeight = height + getFooterHeight(config.showPercentiles(), config.gcMarkers());
 		
 		// Get scaled positions
-		int screenWidth = client.getWindow().getScaledWidth();
-		int screenHeight = client.getWindow().getScaledHeight();
+		int screenWidth = frame.getScreenWidth();
+		int screenHeight = frame.getScreenHeight();
 		
-		int x = config.getScaledGraphX(screenWidth);
-		int y = config.getScaledGraphY(screenHeight);
+		x = frame.getSnapshot().layout().scaleX(config.x(), screenWidth);
+		y = frame.getSnapshot().layout().scaleY(config.y(), screenHeight);
 		
 		// Ensure within screen bounds
 		if (x + width > screenWidth) x = screenWidth - width;
 		if (y + totalHeight > screenHeight) y = screenHeight - totalHeight;
 		if (x < 0) x = 0;
 		if (y < 0) y = 0;
+	}
+	
+	@Override
+	public int getX() {
+		return x;
+	}
+	
+	@Override
+	public int getY() {
+		return y;
+	}
+	
+	@Override
+	public void render(HudCanvas canvas, HudFrame frame) {
+		MinecraftClient client = frame.getClient();
+		
+		// All solid fills are collected and coalesced first, then each merged quad is one fill
+		quads.begin();
 		
 		// Draw background and border only if enabled
-		if (config.graphShowBackground) {
+		if (config.showBackground()) {
 			int bgColor = 0x80000000; // Semi-transparent black
-			context.fill(x, y, x + width, y + totalHeight, bgColor);
+			quads.addRect(x, y, x + width, y + totalHeight, bgColor);
 			
 			// Draw border
-			drawBorder(context, x, y, width, totalHeight, 0xFFFFFFFF);
-		}
-		
-		// Draw graph title
-		String title = "FPS Graph";
-		context.drawTextWithShadow(client.textRenderer, title, x + 3, y + 2, 0xFFFFFF);
-		
-		// Draw horizontal line separator (only if background enabled)
-		if (config.graphShowBackground) {
-			context.fill(x, y + 12, x + width, y + 13, 0x80FFFFFF);
+			addBorder(x, y, width, totalHeight, 0xFFFFFFFF);
+			
+			// Draw horizontal line separator
+			quads.addRect(x, y + 12, x + width, y + 13, 0x80FFFFFF);
 		}
 		
 		// Graph area - add padding to keep bars inside border
-		int graphPadding = config.graphShowBackground ? 2 : 0;
+		int graphPadding = config.showBackground() ? 2 : 0;
 		int graphY = y + 14;
 		int graphHeight = height - 14;
 		int graphStartX = x + graphPadding;
@@ -118,56 +197,36 @@ public class FPSGraphRenderer {
 		int graphWidth = graphEndX - graphStartX;
 		
 		// Draw graph grid lines
-		context.fill(x, graphY + graphHeight / 2, x + width, graphY + graphHeight / 2 + 1, 0x40FFFFFF);
+		quads.addRect(x, graphY + graphHeight / 2, x + width, graphY + graphHeight / 2 + 1, 0x40FFFFFF);
 		
-		// Draw FPS history as bars (within padded bounds)
-		if (!fpsHistory.isEmpty()) {
-			int barWidth = Math.max(1, graphWidth / MAX_SAMPLES);
-			int maxDisplayFps = Math.max(120, maxFps + 10); // Scale to max FPS or 120
-			
-			int i = 0;
-			for (int fps : fpsHistory) {
-				int barHeight = (int) ((float) fps / maxDisplayFps * graphHeight);
-				barHeight = Math.min(barHeight, graphHeight);
-				
-				int barX = graphStartX + (i * graphWidth / MAX_SAMPLES);
-				int barY = graphY + graphHeight - barHeight;
-				
-				// Ensure bar stays within bounds
-				int barEndX = Math.min(barX + barWidth, graphEndX);
-				
-				// Color based on GRAPH-specific FPS thresholds
-				int barColor;
-				if (fps <= config.graphLowFpsThreshold) {
-					barColor = 0xFFFF5555; // Red
-				} else if (fps < config.graphHighFpsThreshold) {
-					barColor = 0xFFFFFF55; // Yellow
-				} else {
-					barColor = 0xFF55FF55; // Green
-				}
-				
-				context.fill(barX, barY, barEndX, graphY + graphHeight, barColor);
-				i++;
-			}
+		if (config.lineMode()) {
+			addFrameTimeLine(config, graphStartX, graphY, graphWidth, graphHeight);
+		} else {
+			addFpsBars(config, graphStartX, graphEndX, graphY, graphHeight);
+		}
+		
+		for (int i = 0, count = quads.getQuadCount(); i < count; i++) {
+			canvas.fill(quads.getX0(i), quads.getY0(i), quads.getX1(i), quads.getY1(i), quads.getColor(i));
 		}
 		
+		// Draw graph title
+		String title = config.lineMode() ? "Frame Time" : "FPS Graph";
+		canvas.drawText(client.textRenderer, title, x + 3, y + 2, 0xFFFFFF);
+		
 		// Draw min/max/avg below graph in 2 rows (labels on top, values below)
 		int statsY = y + height + 1;
 		int labelY = statsY;
 		int valueY = statsY + 11;
-		int currentFps = client.getCurrentFps();
+		int currentFps = FrameTimeRecorder.getCurrentFps();
 		
-		int displayMin = minFps == Integer.MAX_VALUE ? currentFps : minFps;
-		int displayMax = maxFps == 0 ? currentFps : maxFps;
-		int displayAvg = avgFps == 0 ? currentFps : avgFps;
+		int displayMin = history.minFps == Integer.MAX_VALUE ? currentFps : history.minFps;
+		int displayMax = history.maxFps == 0 ? currentFps : history.maxFps;
+		int displayAvg = history.avgFps == 0 ? currentFps : history.avgFps;
 		
 		// Calculate colors based on GRAPH-specific thresholds
-		int minColor = displayMin <= config.graphLowFpsThreshold ? 0xFFFF5555 : 
-					   displayMin < config.graphHighFpsThreshold ? 0xFFFFFF55 : 0xFF55FF55;
-		int maxColor = displayMax <= config.graphLowFpsThreshold ? 0xFFFF5555 : 
-					   displayMax < config.graphHighFpsThreshold ? 0xFFFFFF55 : 0xFF55FF55;
-		int avgColor = displayAvg <= config.graphLowFpsThreshold ? 0xFFFF5555 : 
-					   displayAvg < config.graphHighFpsThreshold ? 0xFFFFFF55 : 0xFF55FF55;
+		int minColor = config.getThresholdColor(displayMin);
+		int maxColor = config.getThresholdColor(displayMax);
+		int avgColor = config.getThresholdColor(displayAvg);
 		
 		// Divide width into 3 columns with padding to keep values inside border
 		int padding = 4;
@@ -178,40 +237,312 @@ public class FPSGraphRenderer {
 		int col3X = x + padding + colWidth * 2;
 		
 		// Row 1: Labels (Min: / Max: / Avg:) in gray
-		context.drawTextWithShadow(client.textRenderer, "Min:", col1X, labelY, 0xFFAAAAAA);
-		context.drawTextWithShadow(client.textRenderer, "Max:", col2X, labelY, 0xFFAAAAAA);
-		context.drawTextWithShadow(client.textRenderer, "Avg:", col3X, labelY, 0xFFAAAAAA);
+		canvas.drawText(client.textRenderer, "Min:", col1X, labelY, 0xFFAAAAAA);
+		canvas.drawText(client.textRenderer, "Max:", col2X, labelY, 0xFFAAAAAA);
+		canvas.drawText(client.textRenderer, "Avg:", col3X, labelY, 0xFFAAAAAA);
 		
 		// Row 2: Values (colored based on thresholds)
-		context.drawTextWithShadow(client.textRenderer, String.valueOf(displayMin), col1X, valueY, minColor);
-		context.drawTextWithShadow(client.textRenderer, String.valueOf(displayMax), col2X, valueY, maxColor);
-		context.drawTextWithShadow(client.textRenderer, String.valueOf(displayAvg), col3X, valueY, avgColor);
+		canvas.drawText(client.textRenderer, String.valueOf(displayMin), col1X, valueY, minColor);
+		canvas.drawText(client.textRenderer, String.valueOf(displayMax), col2X, valueY, maxColor);
+		canvas.drawText(client.textRenderer, String.valueOf(displayAvg), col3X, valueY, avgColor);
+		
+		if (config.showPercentiles()) {
+			// Rows 3-4: 1% low / 0.1% low FPS and p99 frame time
+			int lowLabelY = statsY + 22;
+			int lowValueY = statsY + 33;
+			int displayLow = history.onePercentLowFps == 0 ? displayMin : history.onePercentLowFps;
+			int displayPointOneLow = history.pointOnePercentLowFps == 0 ? displayMin : history.pointOnePercentLowFps;
+			
+			canvas.drawText(client.textRenderer, "1% Low:", col1X, lowLabelY, 0xFFAAAAAA);
+			canvas.drawText(client.textRenderer, "0.1%:", col2X, lowLabelY, 0xFFAAAAAA);
+			canvas.drawText(client.textRenderer, "p99:", col3X, lowLabelY, 0xFFAAAAAA);
+			
+			canvas.drawText(client.textRenderer, String.valueOf(displayLow), col1X, lowValueY, config.getThresholdColor(displayLow));
+			canvas.drawText(client.textRenderer, String.valueOf(displayPointOneLow), col2X, lowValueY, config.getThresholdColor(displayPointOneLow));
+			canvas.drawText(client.textRenderer, history.p99Text, col3X, lowValueY, 0xFFFFFFFF);
+			
+			// Row 5: median and p95 frame time on one line
+			canvas.drawText(client.textRenderer, history.p50p95Text, col1X, statsY + 44, 0xFFAAAAAA);
+		}
+		
+		if (config.gcMarkers()) {
+			// Last row: how many frames over 50 ms overlapped a GC pause
+			int gcY = statsY + (config.showPercentiles() ? 55 : 22);
+			canvas.drawText(client.textRenderer, gcShareText, col1X, gcY, 0xFFAAAAAA);
+		}
 	}
 	
-	private static void drawBorder(DrawContext context, int x, int y, int width, int height, int color) {
-		context.fill(x, y, x + width, y + 1, color); // Top
-		context.fill(x, y + height - 1, x + width, y + height, color); // Bottom
-		context.fill(x, y, x + 1, y + height, color); // Left
-		context.fill(x + width - 1, y, x + width, y + height, color); // Right
+	/**
+	 * Height of the stats footer below the graph area.
+	 * @param showGcShare Whether the GC share row is shown (GC markers on)
+	 */
+	public static int getFooterHeight(boolean showPercentiles, boolean showGcShare) {
+		int height = showPercentiles ? STATS_TEXT_HEIGHT + PERCENTILE_TEXT_HEIGHT : STATS_TEXT_HEIGHT;
+		return showGcShare ? height + GC_TEXT_HEIGHT : height;
+	}
+	
+	/**
+	 * Total height of the graph element (graph area plus stats footer).
+	 * @param graphScale Graph scale in percent
+	 * @param showPercentiles Whether the percentile rows are shown
+	 * @param showGcShare Whether the GC share row is shown
+	 */
+	public static int getTotalHeight(int graphScale, boolean showPercentiles, boolean showGcShare) {
+		return (int) (50 * (graphScale / 100f)) + getFooterHeight(showPercentiles, showGcShare);
+	}
+	
+	/**
+	 * Formats the GC share of slow frames, e.g. "GC stutters: 3/10 (30%)".
+	 */
+	private static String formatGcShare(int gcFrames, int slowFrames) {
+		if (slowFrames == 0) return NO_GC_SHARE_TEXT;
+		return "GC stutters: " + gcFrames + "/" + slowFrames + " (" + (gcFrames * 100 / slowFrames) + "%)";
+	}
+	
+	/**
+	 * Formats a duration as milliseconds with one decimal, e.g. "16.7ms".
+	 */
+	private static String formatMillis(long nanos) {
+		if (nanos <= 0) return "-";
+		long tenths = (nanos + 50_000) / 100_000;
+		return (tenths / 10) + "." + (tenths % 10) + "ms";
+	}
+	
+	/**
+	 * Adds the FPS history as bars (within padded bounds).
+	 */
+	private void addFpsBars(HudSnapshot.Graph config, int graphStartX, int graphEndX, int graphY, int graphHeight) {
+		if (history.fpsHistory.isEmpty()) {
+			return;
+		}
+		
+		int maxDisplayFps = Math.max(120, history.maxFps + 10); // Scale to max FPS or 120
+		int graphBottom = graphY + graphHeight;
+		int sampleCount = history.fpsHistory.size();
+		
+		for (int i = 0; i < sampleCount; i++) {
+			int fps = history.fpsHistory.get(i);
+			int barHeight = Math.min((int) ((float) fps / maxDisplayFps * graphHeight), graphHeight);
+			
+			// Color based on GRAPH-specific FPS thresholds; bars fill their column so equal neighbours merge
+			quads.addBar(i, MAX_SAMPLES, graphStartX, graphEndX, graphBottom - barHeight, graphBottom, config.getThresholdColor(fps));
+		}
+		
+		// Mark intervals whose slowest frame dropped into the red zone (after the bars so runs stay merged)
+		for (int i = 0; i < sampleCount; i++) {
+			int fps = history.fpsHistory.get(i);
+			int worstFps = history.worstFrameHistory.get(i);
+			if (worstFps <= config.lowFpsThreshold() && worstFps < fps) {
+				int worstHeight = Math.min((int) ((float) worstFps / maxDisplayFps * graphHeight), graphHeight);
+				int worstY = Math.min(graphBottom - worstHeight, graphBottom - 1);
+				quads.addBar(i, MAX_SAMPLES, graphStartX, graphEndX, worstY, worstY + 1, 0xFFFF5555);
+			}
+		}
+		
+		// Hitch markers along the top edge
+		if (config.hitchMarkers()) {
+			for (int i = 0; i < sampleCount; i++) {
+				if (history.hitchHistory.get(i) > 0) {
+					quads.addBar(i, MAX_SAMPLES, graphStartX, graphEndX, graphY, graphY + HITCH_MARKER_HEIGHT, HITCH_MARKER_COLOR);
+				}
+			}
+		}
+		
+		// GC markers along the bottom edge, under every sample a pause overlapped
+		if (config.gcMarkers()) {
+			int pause = 0;
+			int retained = GcCorrelator.getRetainedPauses();
+			for (int i = sampleCount - 1; i >= 0 && pause < retained; i--) {
+				long end = history.getSampleEndNanos(i, sampleCount);
+				long start = i > 0 ? history.getSampleEndNanos(i - 1, sampleCount) : end - FrameTimeRecorder.SAMPLE_INTERVAL_NANOS;
+				while (pause < retained && GcCorrelator.getPauseStartNanos(pause) > end) {
+					pause++; // Newer than this sample
+				}
+				int color = getGcMarkerColor(pause, retained, start);
+				if (color != 0) {
+					quads.addBar(i, MAX_SAMPLES, graphStartX, graphEndX, graphBottom - GC_MARKER_HEIGHT, graphBottom, color);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Marker color for the pauses from {@code firstPause} (by age) on that
+	 * ended after {@code start}: major pauses win over minor ones, 0 if none.
+	 */
+	private static int getGcMarkerColor(int firstPause, int retained, long start) {
+		int color = 0;
+		for (int pause = firstPause; pause < retained && GcCorrelator.getPauseEndNanos(pause) >= start; pause++) {
+			if (GcCorrelator.isMajorPause(pause)) {
+				return GC_MAJOR_COLOR;
+			}
+			color = GC_MINOR_COLOR;
+		}
+		return color;
+	}
+	
+	/**
+	 * Adds the most recent frame times as a polyline, one frame per pixel column
+	 * with the newest frame on the right. The low FPS threshold sits on the
+	 * middle grid line; hitches taller than twice that are clipped at the top.
+	 */
+	private void addFrameTimeLine(HudSnapshot.Graph config, int graphStartX, int graphY, int graphWidth, int graphHeight) {
+		int frames = Math.min(FrameTimeRecorder.getRetainedFrames(), graphWidth);
+		if (frames == 0) {
+			return;
+		}
+		
+		long maxDisplayNanos = 2_000_000_000L / Math.max(1, config.lowFpsThreshold());
+		int graphBottom = graphY + graphHeight - 1;
+		int startX = graphStartX + graphWidth - frames;
+		int previousY = -1;
+		
+		for (int column = 0; column < frames; column++) {
+			long nanos = FrameTimeRecorder.getFrameNanos(frames - 1 - column);
+			int lineHeight = (int) Math.min((long) graphHeight - 1, nanos * (graphHeight - 1) / maxDisplayNanos);
+			int lineY = graphBottom - lineHeight;
+			int fps = (int) (1_000_000_000L / Math.max(1, nanos));
+			
+			quads.addLineColumn(startX + column, previousY < 0 ? lineY : previousY, lineY, config.getThresholdColor(fps));
+			previousY = lineY;
+		}
+		
+		// Hitch markers above the frames that were flagged
+		if (config.hitchMarkers()) {
+			long newestFrame = FrameTimeRecorder.getFrameCount() - 1;
+			for (int age = 0, retained = HitchDetector.getRetainedEvents(); age < retained; age++) {
+				long frameAge = newestFrame - HitchDetector.getFrameIndex(age);
+				if (frameAge >= frames) {
+					break;
+				}
+				int markerX = startX + frames - 1 - (int) frameAge;
+				quads.addRect(markerX, graphY, markerX + 1, graphY + HITCH_MARKER_HEIGHT, HITCH_MARKER_COLOR);
+			}
+		}
+		
+		// GC markers below the frames a pause overlapped, walking back from the newest frame
+		if (config.gcMarkers()) {
+			int pause = 0;
+			int retained = GcCorrelator.getRetainedPauses();
+			long frameEnd = FrameTimeRecorder.getLastFrameEndNanos();
+			for (int column = frames - 1; column >= 0 && pause < retained; column--) {
+				long frameStart = frameEnd - FrameTimeRecorder.getFrameNanos(frames - 1 - column);
+				while (pause < retained && GcCorrelator.getPauseStartNanos(pause) > frameEnd) {
+					pause++; // Newer than this frame
+				}
+				int color = getGcMarkerColor(pause, retained, frameStart);
+				if (color != 0) {
+					quads.addRect(startX + column, graphBottom + 1 - GC_MARKER_HEIGHT, startX + column + 1, graphBottom + 1, color);
+				}
+				frameEnd = frameStart;
+			}
+		}
+	}
+	
+	private void addBorder(int x, int y, int width, int height, int color) {
+		quads.addRect(x, y, x + width, y + 1, color); // Top
+		quads.addRect(x, y + height - 1, x + width, y + height, color); // Bottom
+		quads.addRect(x, y, x + 1, y + height, color); // Left
+		quads.addRect(x + width - 1, y, x + width, y + height, color); // Right
 	}
 	
 	public static int getMinFps() {
-		return minFps == Integer.MAX_VALUE ? MinecraftClient.getInstance().getCurrentFps() : minFps;
+		return INSTANCE.history.minFps == Integer.MAX_VALUE ? FrameTimeRecorder.getCurrentFps() : INSTANCE.history.minFps;
 	}
 	
 	public static int getMaxFps() {
-		return maxFps == 0 ? MinecraftClient.getInstance().getCurrentFps() : maxFps;
+		return INSTANCE.history.maxFps == 0 ? FrameTimeRecorder.getCurrentFps() : INSTANCE.history.maxFps;
 	}
 	
 	public static int getAvgFps() {
-		return avgFps == 0 ? MinecraftClient.getInstance().getCurrentFps() : avgFps;
+		return INSTANCE.history.avgFps == 0 ? FrameTimeRecorder.getCurrentFps() : INSTANCE.history.avgFps;
 	}
 	
 	public static void resetStats() {
-		minFps = Integer.MAX_VALUE;
-		maxFps = 0;
-		avgFps = 0;
-		fpsHistory.clear();
-		lastStatsReset = System.currentTimeMillis();
+		INSTANCE.history.clear();
+		INSTANCE.clearGcShare();
+		PREVIEW.clearGcShare();
+		GcCorrelator.clear();
+		FrameTimeRecorder.getStats().clear();
+	}
+	
+	private void clearGcShare() {
+		gcShareText = NO_GC_SHARE_TEXT;
+		contentVersion++;
+	}
+	
+	/**
+	 * The FPS samples and the stats derived from them. Shared by the HUD
+	 * graph and its preview, which show the same samples.
+	 */
+	private static final class SampleHistory {
+		private final IntRingBuffer fpsHistory = new IntRingBuffer(MAX_SAMPLES);
+		// FPS equivalent of the slowest frame in each sample, so single hitches stay visible
+		private final IntRingBuffer worstFrameHistory = new IntRingBuffer(MAX_SAMPLES);
+		// Number of hitches HitchDetector flagged in each sample
+		private final IntRingBuffer hitchHistory = new IntRingBuffer(MAX_SAMPLES);
+		// When each sample interval ended, to place GC pauses on the bars
+		private final long[] sampleEndTimes = new long[MAX_SAMPLES];
+		private long samplesAdded = 0;
+		private long lastSampleSequence = 0;
+		
+		// Min/Max/Avg are rolling over the history window (60 samples * 500ms = 30 seconds)
+		private int minFps = Integer.MAX_VALUE;
+		private int maxFps = 0;
+		private int avgFps = 0;
+		
+		// Percentile footer values, refreshed once per sample interval
+		private int onePercentLowFps = 0;
+		private int pointOnePercentLowFps = 0;
+		private String p99Text = NO_P99_TEXT;
+		private String p50p95Text = NO_P50_P95_TEXT;
+		
+		private void pull() {
+			// Pull the latest completed sample interval from the frame-time recorder
+			long sequence = FrameTimeRecorder.getIntervalSequence();
+			if (sequence != lastSampleSequence) {
+				fpsHistory.add(FrameTimeRecorder.getIntervalAverageFps());
+				worstFrameHistory.add(FrameTimeRecorder.getIntervalWorstFps());
+				hitchHistory.add(countHitches(sequence));
+				sampleEndTimes[(int) (samplesAdded++ % MAX_SAMPLES)] = FrameTimeRecorder.getIntervalEndNanos();
+				
+				// Min comes from the worst single frame, Max/Avg from the interval averages
+				minFps = worstFrameHistory.min(Integer.MAX_VALUE);
+				maxFps = fpsHistory.max(0);
+				avgFps = fpsHistory.average();
+				
+				// Percentiles scan the histogram buckets, so only refresh them per interval
+				FrameTimeStats stats = FrameTimeRecorder.getStats();
+				stats.computeStatistics();
+				onePercentLowFps = stats.getOnePercentLowFps();
+				pointOnePercentLowFps = stats.getPointOnePercentLowFps();
+				p99Text = formatMillis(stats.getP99Nanos());
+				p50p95Text = "p50 " + formatMillis(stats.getP50Nanos()) + "  p95 " + formatMillis(stats.getP95Nanos());
+				
+				lastSampleSequence = sequence;
+			}
+		}
+		
+		/**
+		 * When a sample in the FPS history ended.
+		 * @param index Index in the history, 0 is the oldest
+		 * @param sampleCount Number of samples in the history
+		 */
+		private long getSampleEndNanos(int index, int sampleCount) {
+			return sampleEndTimes[(int) ((samplesAdded - sampleCount + index) % MAX_SAMPLES)];
+		}
+		
+		private void clear() {
+			minFps = Integer.MAX_VALUE;
+			maxFps = 0;
+			avgFps = 0;
+			fpsHistory.clear();
+			worstFrameHistory.clear();
+			hitchHistory.clear();
+			onePercentLowFps = 0;
+			pointOnePercentLowFps = 0;
+			p99Text = NO_P99_TEXT;
+			p50p95Text = NO_P50_P95_TEXT;
+		}
 	}
 }
@@ -1,136 +1,134 @@
 package com.simplefps.hud;
 
-import com.simplefps.config.SimpleFPSConfig;
+import com.simplefps.config.HudSnapshot;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
-import net.minecraft.client.render.RenderTickCounter;
 import net.minecraft.util.math.Direction;
 
-public class FPSHudRenderer {
+public class FPSHudRenderer extends TextHudElement {
+	public static final FPSHudRenderer INSTANCE = new FPSHudRenderer();
+	// Screen previews get their own text cache and refresh state
+	private static final FPSHudRenderer PREVIEW = new FPSHudRenderer();
 	
-	public static void render(DrawContext context, RenderTickCounter tickCounter) {
-		SimpleFPSConfig config = SimpleFPSConfig.getInstance();
-		
-		// Don't render if disabled
-		if (!config.enabled) {
-			return;
-		}
-		
-		renderFPS(context, false);
-	}
+	// Text color for this frame (adaptive color depends on the current FPS)
+	private int textColor;
+	
+	// Red flash shown for a moment after a hitch
+	private static final long HITCH_FLASH_NANOS = 500_000_000L;
+	private static final int HITCH_FLASH_COLOR = 0xFF5555;
+	private boolean flashing = false;
+	
+	// Recorder totals at the last refresh, to average the frames in between
+	private long refreshedFrameCount = 0;
+	private long refreshedFrameNanos = 0;
 	
 	/**
-	 * Renders the FPS counter. Can be called from HUD or from a screen for preview.
+	 * Renders the FPS counter. Can be called from a screen for preview.
 	 * @param context The draw context
-	 * @param isPreview If true, shows "Drag me!" indicator
+	 * @param isPreview If true, renders even when disabled (drag screen)
 	 */
 	public static void renderFPS(DrawContext context, boolean isPreview) {
-		renderFPSWithConfig(context, SimpleFPSConfig.getInstance(), isPreview);
+		HudPipeline.renderSingle(context, isPreview ? PREVIEW : INSTANCE, isPreview);
 	}
 	
-	/**
-	 * Renders the FPS counter with a specific config (used for live preview).
-	 * @param context The draw context
-	 * @param config The config to use for rendering
-	 * @param isPreview If true, shows "Drag me!" indicator
-	 */
-	public static void renderFPSWithConfig(DrawContext context, SimpleFPSConfig config, boolean isPreview) {
-		MinecraftClient client = MinecraftClient.getInstance();
-		TextRenderer textRenderer = client.textRenderer;
-		
-		// Get current FPS from client
-		int fps = client.getCurrentFps();
-		
-		// Build display text
-		StringBuilder textBuilder = new StringBuilder();
-		if (config.showLabel) {
-			textBuilder.append(fps).append(" FPS");
-		} else {
-			textBuilder.append(fps);
-		}
-		
-		// Add direction if enabled
-		if (config.showDirection && client.player != null) {
-			String direction = getPlayerDirection(client);
-			textBuilder.append(" ").append(direction);
+	@Override
+	public String getName() {
+		return "FPS";
+	}
+	
+	@Override
+	protected HudSnapshot.TextElement getConfig(HudSnapshot snapshot) {
+		return snapshot.fps().text();
+	}
+	
+	@Override
+	public boolean update(HudFrame frame) {
+		// Start and end of a flash need a refresh even between refresh intervals
+		if (isFlashing(frame) != flashing) {
+			requestRefresh();
 		}
+		return super.update(frame);
+	}
+	
+	private static boolean isFlashing(HudFrame frame) {
+		long lastHitch = HitchDetector.getLastHitchNanos();
+		return frame.getSnapshot().fps().hitchFlash() && !frame.isPreview()
+			&& lastHitch != 0 && frame.getNanoTime() - lastHitch < HITCH_FLASH_NANOS;
+	}
+	
+	@Override
+	protected boolean updateText(HudFrame frame) {
+		HudSnapshot.Fps fpsConfig = frame.getSnapshot().fps();
+		MinecraftClient client = frame.getClient();
 		
-		String fpsText = textBuilder.toString();
-		
-		// Calculate text dimensions with scaling
-		float scale = config.textSize;
-		int textWidth = (int) (textRenderer.getWidth(fpsText) * scale);
-		int textHeight = (int) (textRenderer.fontHeight * scale);
-		
-		// Get position (scaled and clamped to screen bounds)
-		int screenWidth = client.getWindow().getScaledWidth();
-		int screenHeight = client.getWindow().getScaledHeight();
+		// Get current FPS from the per-frame recorder
+		int fps = getDisplayFps(frame);
 		
-		int x = Math.max(0, Math.min(config.getScaledPositionX(screenWidth), screenWidth - textWidth - 4));
-		int y = Math.max(0, Math.min(config.getScaledPositionY(screenHeight), screenHeight - textHeight - 4));
+		// Direction only shown when enabled and in-world
+		Direction direction = fpsConfig.showDirection() && client.player != null ? client.player.getHorizontalFacing() : null;
+		long displayFlags = (fpsConfig.showLabel() ? 1 : 0) | (direction != null ? (direction.ordinal() + 1) << 1 : 0);
 		
-		// Draw background if enabled
-		if (config.showBackground && config.backgroundOpacity > 0) {
-			int bgColor = config.getBackgroundColorWithAlpha();
-			int padding = 2;
-			context.fill(
-				x - padding,
-				y - padding,
-				x + textWidth + padding,
-				y + textHeight + padding,
-				bgColor
-			);
+		// Rebuild display text only when the FPS value, label or direction changes
+		if (!textCache.isValid(frame.getTextRenderer(), fps, displayFlags, null)) {
+			StringBuilder textBuilder = new StringBuilder();
+			if (fpsConfig.showLabel()) {
+				textBuilder.append(fps).append(" FPS");
+			} else {
+				textBuilder.append(fps);
+			}
+			
+			// Add direction if enabled
+			if (direction != null) {
+				textBuilder.append(" ").append(getDirectionLetter(direction));
+			}
+			
+			textCache.update(frame.getTextRenderer(), fps, displayFlags, null, textBuilder.toString());
 		}
 		
-		// Get text color with alpha - use adaptive color if enabled
-		int textColor;
-		if (config.adaptiveColorEnabled) {
-			int adaptiveRgb = config.getAdaptiveColor(fps);
-			int alpha = (int) (255 * (config.textOpacity / 100.0f));
-			textColor = (alpha << 24) | adaptiveRgb;
-		} else {
-			textColor = config.getTextColorWithAlpha();
+		// Use adaptive color if enabled
+		textColor = fpsConfig.getTextColor(fps);
+		flashing = isFlashing(frame);
+		if (flashing) {
+			textColor = (textColor & 0xFF000000) | HITCH_FLASH_COLOR; // Keep the configured opacity
 		}
-		
-		// Draw text with scaling using DrawContext's scale method
-		if (scale != 1.0f) {
-			// Scale around the text position
-			context.getMatrices().pushMatrix();
-			context.getMatrices().translate(x, y);
-			context.getMatrices().scale(scale, scale);
-			
-			// Draw text with shadow for better visibility
-			context.drawTextWithShadow(
-				textRenderer,
-				fpsText,
-				0,
-				0,
-				textColor
-			);
-			
-			context.getMatrices().popMatrix();
-		} else {
-			// No scaling needed, draw directly
-			context.drawTextWithShadow(
-				textRenderer,
-				fpsText,
-				x,
-				y,
-				textColor
-			);
+		return true;
+	}
+	
+	/**
+	 * FPS to show for this refresh. Timed refresh intervals average the
+	 * frames recorded since the previous refresh, so e.g. 100 ms shows a new
+	 * value every 100 ms; every frame and every tick keep the 500 ms sample
+	 * average, since a one-frame window would flicker. Previews refresh every
+	 * frame, so they always show the sample average.
+	 */
+	private int getDisplayFps(HudFrame frame) {
+		if (frame.isPreview()) {
+			return FrameTimeRecorder.getCurrentFps();
 		}
 		
+		long frames = FrameTimeRecorder.getFrameCount();
+		long nanos = FrameTimeRecorder.getTotalFrameNanos();
+		long windowFrames = frames - refreshedFrameCount;
+		long windowNanos = nanos - refreshedFrameNanos;
+		refreshedFrameCount = frames;
+		refreshedFrameNanos = nanos;
+		
+		if (config.refreshInterval() > 0 && windowFrames > 0 && windowNanos > 0) {
+			return (int) Math.round(windowFrames * 1_000_000_000.0 / windowNanos);
+		}
+		return FrameTimeRecorder.getCurrentFps();
+	}
+	
+	@Override
+	protected int getTextColor() {
+		return textColor;
 	}
 	// Note: Preview labels are handled by HudDragScreen
 	
 	/**
-	 * Gets the player's current facing direction as a single letter.
+	 * Gets a horizontal facing direction as a single letter.
 	 */
-	private static String getPlayerDirection(MinecraftClient client) {
-		if (client.player == null) return "";
-		
-		Direction direction = client.player.getHorizontalFacing();
+	private static String getDirectionLetter(Direction direction) {
 		return switch (direction) {
 			case NORTH -> "N";
 			case SOUTH -> "S";
@@ -0,0 +1,180 @@
+package com.simplefps.hud;
+
+import net.minecraft.client.MinecraftClient;
+
+/**
+ * Records the duration of every rendered frame in nanoseconds.
+ *
+ * Called once per frame from the HUD render callback. Frame times go into a
+ * preallocated ring so single-frame hitches are never averaged away, and are
+ * also folded into fixed-length sample intervals that feed the FPS counter
+ * and the graph (average FPS plus the worst frame of each interval).
+ * Each frame is also checked by {@link HitchDetector} and
+ * {@link GcCorrelator}.
+ */
+public class FrameTimeRecorder {
+	private static final int CAPACITY = 4096; // Must be a power of two
+	private static final int MASK = CAPACITY - 1;
+	private static final long[] frameNanos = new long[CAPACITY];
+	private static long frameCount = 0;
+	private static long totalFrameNanos = 0; // Sum of every recorded frame time
+	private static long lastFrameTime = 0;
+	private static long lastRecordedFrameTime = 0; // End of the newest frame in the ring
+	
+	// Gaps longer than this are pauses (HUD hidden, world loading), not frames
+	public static final long MAX_FRAME_GAP = 5_000_000_000L;
+	
+	// Sample interval used by the counter and the graph
+	public static final long SAMPLE_INTERVAL_NANOS = 500_000_000L; // 500ms
+	private static long intervalStart = 0;
+	private static int intervalFrames = 0;
+	private static long intervalNanos = 0;
+	private static long intervalMaxNanos = 0;
+	
+	// Rolling percentile statistics (window set by the graph config)
+	private static final FrameTimeStats stats = new FrameTimeStats(30_000_000_000L);
+	
+	// Last completed interval
+	private static long intervalSequence = 0;
+	private static long intervalEndTime = 0;
+	private static int intervalAverageFps = 0;
+	private static int intervalWorstFps = 0;
+	
+	/**
+	 * Records the end of a frame. Call exactly once per rendered frame.
+	 * @param now The current {@link System#nanoTime()}
+	 */
+	public static void recordFrame(long now) {
+		long last = lastFrameTime;
+		lastFrameTime = now;
+		if (last == 0) {
+			intervalStart = now;
+			return;
+		}
+		
+		long delta = now - last;
+		if (delta <= 0 || delta > MAX_FRAME_GAP) {
+			// Discontinuity - restart the interval instead of recording a bogus frame
+			resetInterval(now);
+			return;
+		}
+		
+		frameNanos[(int) (frameCount & MASK)] = delta;
+		HitchDetector.record(now, delta, frameCount, intervalSequence + 1);
+		GcCorrelator.recordFrame(now, delta);
+		frameCount++;
+		totalFrameNanos += delta;
+		lastRecordedFrameTime = now;
+		stats.record(now, delta);
+		
+		intervalFrames++;
+		intervalNanos += delta;
+		if (delta > intervalMaxNanos) intervalMaxNanos = delta;
+		
+		if (now - intervalStart >= SAMPLE_INTERVAL_NANOS) {
+			intervalAverageFps = (int) Math.round(intervalFrames * 1_000_000_000.0 / intervalNanos);
+			intervalWorstFps = (int) Math.round(1_000_000_000.0 / intervalMaxNanos);
+			intervalSequence++;
+			intervalEndTime = now;
+			resetInterval(now);
+		}
+	}
+	
+	private static void resetInterval(long now) {
+		intervalStart = now;
+		intervalFrames = 0;
+		intervalNanos = 0;
+		intervalMaxNanos = 0;
+	}
+	
+	/**
+	 * Whether at least one sample interval has completed.
+	 */
+	public static boolean hasData() {
+		return intervalSequence > 0;
+	}
+	
+	/**
+	 * Incremented every time a sample interval completes.
+	 */
+	public static long getIntervalSequence() {
+		return intervalSequence;
+	}
+	
+	/**
+	 * When the last sample interval completed ({@link System#nanoTime()}).
+	 */
+	public static long getIntervalEndNanos() {
+		return intervalEndTime;
+	}
+	
+	/**
+	 * Average FPS over the last completed sample interval.
+	 */
+	public static int getIntervalAverageFps() {
+		return intervalAverageFps;
+	}
+	
+	/**
+	 * FPS equivalent of the slowest frame in the last completed sample interval.
+	 */
+	public static int getIntervalWorstFps() {
+		return intervalWorstFps;
+	}
+	
+	/**
+	 * Current FPS for display, falling back to the vanilla counter until
+	 * enough frames have been recorded (e.g. on the title screen).
+	 */
+	public static int getCurrentFps() {
+		return hasData() ? intervalAverageFps : MinecraftClient.getInstance().getCurrentFps();
+	}
+	
+	/**
+	 * Rolling frame-time histogram used for percentiles and 1%/0.1% lows.
+	 */
+	public static FrameTimeStats getStats() {
+		return stats;
+	}
+	
+	/**
+	 * Total number of frames recorded since startup.
+	 */
+	public static long getFrameCount() {
+		return frameCount;
+	}
+	
+	/**
+	 * Sum of all frame times recorded since startup. Differences between two
+	 * reads, divided by the difference in {@link #getFrameCount()}, give the
+	 * average frame time in between without the pauses that were skipped.
+	 */
+	public static long getTotalFrameNanos() {
+		return totalFrameNanos;
+	}
+	
+	/**
+	 * Number of frame times currently retained in the ring.
+	 */
+	public static int getRetainedFrames() {
+		return (int) Math.min(frameCount, CAPACITY);
+	}
+	
+	/**
+	 * When the most recent retained frame ended ({@link System#nanoTime()}).
+	 * Older frames ended one frame time earlier each.
+	 */
+	public static long getLastFrameEndNanos() {
+		return lastRecordedFrameTime;
+	}
+	
+	/**
+	 * Gets a retained frame time by age: 0 is the most recent frame.
+	 */
+	public static long getFrameNanos(int age) {
+		if (age < 0 || age >= getRetainedFrames()) {
+			throw new IndexOutOfBoundsException("Frame " + age + " is not retained");
+		}
+		return frameNanos[(int) ((frameCount - 1 - age) & MASK)];
+	}
+}
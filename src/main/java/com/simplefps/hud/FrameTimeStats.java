@@ -0,0 +1,129 @@
+package com.simplefps.hud;
+
+/**
+ * Rolling frame-time statistics over a configurable time window.
+ *
+ * The window is split into a fixed number of slices, each a {@link NanoHistogram}.
+ * Frames are recorded into the current slice and a running aggregate; when a
+ * slice expires it is subtracted from the aggregate and reused. Cost per frame
+ * is O(1) and memory is bounded regardless of the window length or frame rate.
+ */
+public class FrameTimeStats {
+	private static final int SLICES = 10;
+	
+	private final NanoHistogram[] slices = new NanoHistogram[SLICES];
+	private final NanoHistogram aggregate = new NanoHistogram();
+	private int currentSlice = 0;
+	private long sliceStart = 0;
+	private long sliceNanos;
+	
+	// Derived values, refreshed by computeStatistics()
+	private long p50Nanos = 0;
+	private long p95Nanos = 0;
+	private long p99Nanos = 0;
+	private int onePercentLowFps = 0;
+	private int pointOnePercentLowFps = 0;
+	
+	public FrameTimeStats(long windowNanos) {
+		for (int i = 0; i < SLICES; i++) {
+			slices[i] = new NanoHistogram();
+		}
+		setWindowNanos(windowNanos);
+	}
+	
+	/**
+	 * Changes the window length. Takes effect gradually as slices rotate.
+	 */
+	public void setWindowNanos(long windowNanos) {
+		this.sliceNanos = Math.max(1, windowNanos / SLICES);
+	}
+	
+	public long getWindowNanos() {
+		return sliceNanos * SLICES;
+	}
+	
+	/**
+	 * Records one frame.
+	 * @param now The current {@link System#nanoTime()}
+	 * @param frameNanos Duration of the frame
+	 */
+	public void record(long now, long frameNanos) {
+		rotate(now);
+		slices[currentSlice].record(frameNanos);
+		aggregate.record(frameNanos);
+	}
+	
+	private void rotate(long now) {
+		if (sliceStart == 0) {
+			sliceStart = now;
+			return;
+		}
+		// Expire at most one full window's worth of slices, however long the gap
+		for (int i = 0; i < SLICES && now - sliceStart >= sliceNanos; i++) {
+			currentSlice = (currentSlice + 1) % SLICES;
+			aggregate.subtract(slices[currentSlice]);
+			slices[currentSlice].clear();
+			sliceStart += sliceNanos;
+		}
+		if (now - sliceStart >= sliceNanos) {
+			sliceStart = now;
+		}
+	}
+	
+	/**
+	 * Recomputes percentiles and lows from the window. O(buckets), so call
+	 * it when a fresh value is needed rather than every frame.
+	 */
+	public void computeStatistics() {
+		p50Nanos = aggregate.getValueAtPercentile(50);
+		p95Nanos = aggregate.getValueAtPercentile(95);
+		p99Nanos = aggregate.getValueAtPercentile(99);
+		onePercentLowFps = toFps(aggregate.getMeanOfSlowest(0.01));
+		pointOnePercentLowFps = toFps(aggregate.getMeanOfSlowest(0.001));
+	}
+	
+	private static int toFps(long frameNanos) {
+		return frameNanos <= 0 ? 0 : (int) Math.round(1_000_000_000.0 / frameNanos);
+	}
+	
+	public void clear() {
+		for (NanoHistogram slice : slices) {
+			slice.clear();
+		}
+		aggregate.clear();
+		sliceStart = 0;
+		p50Nanos = 0;
+		p95Nanos = 0;
+		p99Nanos = 0;
+		onePercentLowFps = 0;
+		pointOnePercentLowFps = 0;
+	}
+	
+	public NanoHistogram getHistogram() {
+		return aggregate;
+	}
+	
+	public long getFrameCount() {
+		return aggregate.getCount();
+	}
+	
+	public long getP50Nanos() {
+		return p50Nanos;
+	}
+	
+	public long getP95Nanos() {
+		return p95Nanos;
+	}
+	
+	public long getP99Nanos() {
+		return p99Nanos;
+	}
+	
+	public int getOnePercentLowFps() {
+		return onePercentLowFps;
+	}
+	
+	public int getPointOnePercentLowFps() {
+		return pointOnePercentLowFps;
+	}
+}
@@ -0,0 +1,200 @@
+package com.simplefps.hud;
+
+/**
+ * Matches slow frames with GC pauses, to tell garbage collection stutters
+ * apart from rendering ones.
+ *
+ * {@link FrameTimeRecorder} reports every frame longer than
+ * {@value #SLOW_FRAME_MILLIS} ms. Pauses come from {@link MemorySampler},
+ * already on the same {@link System#nanoTime()} clock as the frames. A slow
+ * frame counts as a GC stutter when the pause time overlapping it is what
+ * pushed it over the limit: without it, the frame would not have been slow.
+ * Short young collections that merely happen during a long render frame
+ * don't count.
+ *
+ * GC notifications arrive shortly after the pause ended, so slow frames are
+ * only judged once they are {@value #SETTLE_MILLIS} ms old; until then a
+ * pause that hit them might still be on its way. Everything here runs on
+ * the render thread; pauses are copied out of {@link MemorySampler} once
+ * per frame.
+ */
+public class GcCorrelator {
+	private static final long SLOW_FRAME_MILLIS = 50;
+	private static final long SLOW_FRAME_NANOS = SLOW_FRAME_MILLIS * 1_000_000L;
+	private static final long SETTLE_MILLIS = 1000;
+	private static final long SETTLE_NANOS = SETTLE_MILLIS * 1_000_000L;
+	private static final long MATCH_TOLERANCE_NANOS = 1_000_000L; // GC times are whole milliseconds, pauses are extended by one
+	
+	// GC pauses copied from MemorySampler, oldest first
+	private static final int PAUSE_CAPACITY = 128;
+	private static final long[] pauseStarts = new long[PAUSE_CAPACITY];
+	private static final long[] pauseEnds = new long[PAUSE_CAPACITY];
+	private static final boolean[] pauseMajor = new boolean[PAUSE_CAPACITY];
+	private static long pauseCount = 0;
+	private static long copiedPauses = 0; // MemorySampler pause index copied up to
+	
+	// Slow frames waiting for their pauses to arrive
+	private static final int PENDING_CAPACITY = 64;
+	private static final long[] pendingStarts = new long[PENDING_CAPACITY];
+	private static final long[] pendingEnds = new long[PENDING_CAPACITY];
+	private static long pendingHead = 0;
+	private static long pendingCount = 0;
+	
+	// Judged slow frames: when they ended and whether a pause overlapped them
+	private static final int RESOLVED_CAPACITY = 512;
+	private static final long[] resolvedEnds = new long[RESOLVED_CAPACITY];
+	private static final boolean[] resolvedGc = new boolean[RESOLVED_CAPACITY];
+	private static long resolvedCount = 0;
+	private static int slowFrames = 0;
+	private static int gcSlowFrames = 0;
+	
+	/**
+	 * Notes a frame if it was slow. Called by {@link FrameTimeRecorder} for every recorded frame.
+	 * @param now When the frame ended ({@link System#nanoTime()})
+	 * @param frameNanos The frame's duration
+	 */
+	static void recordFrame(long now, long frameNanos) {
+		if (frameNanos <= SLOW_FRAME_NANOS) {
+			return;
+		}
+		if (pendingCount - pendingHead == PENDING_CAPACITY) {
+			pendingHead++; // Nobody is resolving (graph hidden) - drop the oldest
+		}
+		int slot = (int) (pendingCount % PENDING_CAPACITY);
+		pendingStarts[slot] = now - frameNanos;
+		pendingEnds[slot] = now;
+		pendingCount++;
+	}
+	
+	/**
+	 * Copies new GC pauses and judges slow frames that are old enough.
+	 * Called once per frame while the graph shows GC markers.
+	 */
+	static void update(long now) {
+		long available = MemorySampler.getPauseCount();
+		// Pauses the sampler's ring already overwrote are lost
+		copiedPauses = Math.max(copiedPauses, available - MemorySampler.getPauseCapacity());
+		for (; copiedPauses < available; copiedPauses++) {
+			int slot = (int) (pauseCount % PAUSE_CAPACITY);
+			pauseStarts[slot] = MemorySampler.getPauseStartNanos(copiedPauses);
+			pauseEnds[slot] = MemorySampler.getPauseEndNanos(copiedPauses);
+			pauseMajor[slot] = MemorySampler.isMajorPause(copiedPauses);
+			pauseCount++;
+		}
+		
+		while (pendingHead < pendingCount) {
+			int slot = (int) (pendingHead % PENDING_CAPACITY);
+			if (now - pendingEnds[slot] < SETTLE_NANOS) {
+				break;
+			}
+			int resolvedSlot = (int) (resolvedCount % RESOLVED_CAPACITY);
+			resolvedEnds[resolvedSlot] = pendingEnds[slot];
+			long start = pendingStarts[slot];
+			long end = pendingEnds[slot];
+			resolvedGc[resolvedSlot] = end - start - getPauseOverlap(start, end) <= SLOW_FRAME_NANOS;
+			resolvedCount++;
+			pendingHead++;
+		}
+	}
+	
+	/**
+	 * Total GC pause time between start and end.
+	 */
+	private static long getPauseOverlap(long start, long end) {
+		long overlap = 0;
+		for (int age = 0, retained = getRetainedPauses(); age < retained; age++) {
+			long pauseEnd = getPauseEndNanos(age) + MATCH_TOLERANCE_NANOS;
+			if (pauseEnd < start) {
+				break; // Pauses are in time order, older ones ended even earlier
+			}
+			long pauseStart = getPauseStartNanos(age);
+			if (pauseStart <= end) {
+				overlap += Math.min(end, pauseEnd) - Math.max(start, pauseStart);
+			}
+		}
+		return overlap;
+	}
+	
+	/**
+	 * Recounts the judged slow frames that ended within a window, see
+	 * {@link #getSlowFrames()} and {@link #getGcSlowFrames()}.
+	 * @param now The current {@link System#nanoTime()}
+	 * @param windowNanos How far back to look
+	 */
+	static void refreshStats(long now, long windowNanos) {
+		int slow = 0;
+		int gc = 0;
+		long retained = Math.min(resolvedCount, RESOLVED_CAPACITY);
+		for (long i = resolvedCount - 1; i >= resolvedCount - retained; i--) {
+			int slot = (int) (i % RESOLVED_CAPACITY);
+			if (now - resolvedEnds[slot] > windowNanos) {
+				break;
+			}
+			slow++;
+			if (resolvedGc[slot]) {
+				gc++;
+			}
+		}
+		slowFrames = slow;
+		gcSlowFrames = gc;
+	}
+	
+	/**
+	 * Frames over 50 ms in the window of the last {@link #refreshStats}.
+	 */
+	public static int getSlowFrames() {
+		return slowFrames;
+	}
+	
+	/**
+	 * How many of those were GC stutters.
+	 */
+	public static int getGcSlowFrames() {
+		return gcSlowFrames;
+	}
+	
+	/**
+	 * Total GC pauses seen since startup; changes whenever a pause arrives.
+	 */
+	public static long getPauseCount() {
+		return pauseCount;
+	}
+	
+	/**
+	 * Number of pauses currently retained.
+	 */
+	public static int getRetainedPauses() {
+		return (int) Math.min(pauseCount, PAUSE_CAPACITY);
+	}
+	
+	// Accessors for retained pauses by age: 0 is the most recent
+	
+	public static long getPauseStartNanos(int age) {
+		return pauseStarts[slot(age)];
+	}
+	
+	public static long getPauseEndNanos(int age) {
+		return pauseEnds[slot(age)];
+	}
+	
+	public static boolean isMajorPause(int age) {
+		return pauseMajor[slot(age)];
+	}
+	
+	/**
+	 * Forgets judged and pending slow frames (graph stats reset). Pauses are kept for the markers.
+	 */
+	public static void clear() {
+		pendingHead = pendingCount;
+		resolvedCount = 0;
+		slowFrames = 0;
+		gcSlowFrames = 0;
+	}
+	
+	private static int slot(int age) {
+		if (age < 0 || age >= getRetainedPauses()) {
+			throw new IndexOutOfBoundsException("Pause " + age + " is not retained");
+		}
+		return (int) ((pauseCount - 1 - age) % PAUSE_CAPACITY);
+	}
+}
@@ -0,0 +1,102 @@
+package com.simplefps.hud;
+
+/**
+ * Collects the solid-color rectangles of the FPS graph into one flat int
+ * buffer, merging each rectangle into the previous one when they share color
+ * and vertical extent and touch horizontally. The graph then draws one fill
+ * per merged quad.
+ *
+ * Runs of equal-height bars (steady FPS) and flat stretches of the frame-time
+ * line collapse into single quads. The buffer is reused every frame, and the
+ * class has no Minecraft dependencies so quad counts can be checked headless.
+ */
+public class GraphQuadBuilder {
+	private static final int STRIDE = 5; // x0, y0, x1, y1, color
+	
+	private int[] quads = new int[STRIDE * 128];
+	private int count = 0;
+	
+	/**
+	 * Discards the quads of the previous frame.
+	 */
+	public void begin() {
+		count = 0;
+	}
+	
+	/**
+	 * Adds a filled rectangle, coalescing it with the previous one if possible.
+	 */
+	public void addRect(int x0, int y0, int x1, int y1, int color) {
+		if (x1 <= x0 || y1 <= y0) {
+			return;
+		}
+		
+		if (count > 0) {
+			int last = (count - 1) * STRIDE;
+			if (quads[last + 2] == x0 && quads[last + 1] == y0 && quads[last + 3] == y1 && quads[last + 4] == color) {
+				quads[last + 2] = x1; // Extend the previous run to the right
+				return;
+			}
+		}
+		
+		int offset = count * STRIDE;
+		if (offset + STRIDE > quads.length) {
+			int[] grown = new int[quads.length * 2];
+			System.arraycopy(quads, 0, grown, 0, quads.length);
+			quads = grown;
+		}
+		quads[offset] = x0;
+		quads[offset + 1] = y0;
+		quads[offset + 2] = x1;
+		quads[offset + 3] = y1;
+		quads[offset + 4] = color;
+		count++;
+	}
+	
+	/**
+	 * Adds a rectangle filling one of {@code slotCount} columns between
+	 * {@code left} and {@code right}. Column edges are rounded the same way
+	 * for both neighbours, so adjacent slots always touch and equal bars merge
+	 * at any graph width; columns narrower than a pixel are widened to one.
+	 */
+	public void addBar(int slot, int slotCount, int left, int right, int y0, int y1, int color) {
+		int width = right - left;
+		int x0 = left + slot * width / slotCount;
+		int x1 = Math.min(Math.max(x0 + 1, left + (slot + 1) * width / slotCount), right);
+		addRect(x0, y0, x1, y1, color);
+	}
+	
+	/**
+	 * Adds a 1-pixel wide vertical segment covering both endpoints, used to
+	 * draw a polyline one column at a time.
+	 */
+	public void addLineColumn(int x, int fromY, int toY, int color) {
+		int top = Math.min(fromY, toY);
+		int bottom = Math.max(fromY, toY);
+		addRect(x, top, x + 1, bottom + 1, color);
+	}
+	
+	public int getQuadCount() {
+		return count;
+	}
+	
+	public int getX0(int index) {
+		return quads[index * STRIDE];
+	}
+	
+	public int getY0(int index) {
+		return quads[index * STRIDE + 1];
+	}
+	
+	public int getX1(int index) {
+		return quads[index * STRIDE + 2];
+	}
+	
+	public int getY1(int index) {
+		return quads[index * STRIDE + 3];
+	}
+	
+	public int getColor(int index) {
+		return quads[index * STRIDE + 4];
+	}
+}
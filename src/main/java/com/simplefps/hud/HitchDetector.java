@@ -0,0 +1,235 @@
+package com.simplefps.hud;
+
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.client.world.ClientWorld;
+
+import java.util.Arrays;
+
+/**
+ * Flags frames that take much longer than the frames around them.
+ *
+ * Every frame time from {@link FrameTimeRecorder} is compared with the
+ * median of the previous {@value #WINDOW} frames; a frame longer than the
+ * configured multiple of that median (and at least {@link #MIN_HITCH_NANOS})
+ * is a hitch. The last {@value #CAPACITY} hitches are kept in a ring of
+ * primitive arrays together with what was going on at the time, so the
+ * graph can mark them and {@code /simplefps hitches} can list them.
+ *
+ * The median window is kept sorted: each frame removes the oldest value
+ * and inserts the new one, a binary search and a short array shift, so
+ * detection stays cheap enough to run on every frame.
+ */
+public class HitchDetector {
+	// Context flags: what happened during the hitch frame
+	public static final int CONTEXT_CHUNKS = 1;     // Loaded chunk count changed
+	public static final int CONTEXT_SCREEN = 1 << 1; // A screen was opened, closed or switched
+	public static final int CONTEXT_WORLD = 1 << 2;  // World joined or changed in the last few seconds
+	
+	private static final int WINDOW = 64;
+	private static final int MIN_WINDOW = 16; // Frames needed before anything is flagged
+	private static final int CAPACITY = 32;
+	private static final long MIN_HITCH_NANOS = 10_000_000L; // Ignore "hitches" that are still under 10ms
+	private static final long WORLD_JOIN_NANOS = 5_000_000_000L;
+	
+	// Rolling window: insertion order plus the same values sorted
+	private static final long[] window = new long[WINDOW];
+	private static final long[] sorted = new long[WINDOW];
+	private static int windowHead = 0;
+	private static int windowSize = 0;
+	private static int multiplier = 3;
+	
+	// Hitch ring
+	private static final long[] eventTimes = new long[CAPACITY];
+	private static final long[] eventDurations = new long[CAPACITY];
+	private static final long[] eventMedians = new long[CAPACITY];
+	private static final long[] eventFrames = new long[CAPACITY];
+	private static final long[] eventIntervals = new long[CAPACITY];
+	private static final int[] eventContexts = new int[CAPACITY];
+	private static long eventCount = 0;
+	private static long lastHitchNanos = 0;
+	
+	// Client state seen at the previous frame, for the context flags
+	private static long observedEvents = 0;
+	private static Screen lastScreen = null;
+	private static ClientWorld lastWorld = null;
+	private static int lastChunkCount = -1;
+	private static long worldChangeNanos = 0;
+	
+	/**
+	 * Sets how many times the median frame time a frame must take to count as a hitch.
+	 */
+	public static void setMultiplier(int multiplier) {
+		HitchDetector.multiplier = multiplier;
+	}
+	
+	/**
+	 * Checks a frame. Called by {@link FrameTimeRecorder} for every recorded frame.
+	 * @param now When the frame ended ({@link System#nanoTime()})
+	 * @param frameNanos The frame's duration
+	 * @param frameIndex The frame's index in {@link FrameTimeRecorder}
+	 * @param interval The sample interval the frame belongs to
+	 */
+	static void record(long now, long frameNanos, long frameIndex, long interval) {
+		if (windowSize >= MIN_WINDOW) {
+			long median = sorted[windowSize / 2];
+			if (frameNanos >= MIN_HITCH_NANOS && frameNanos > median * multiplier) {
+				int slot = (int) (eventCount % CAPACITY);
+				eventTimes[slot] = now;
+				eventDurations[slot] = frameNanos;
+				eventMedians[slot] = median;
+				eventFrames[slot] = frameIndex;
+				eventIntervals[slot] = interval;
+				eventContexts[slot] = 0;
+				eventCount++;
+				lastHitchNanos = now;
+			}
+		}
+		addToWindow(frameNanos);
+	}
+	
+	/**
+	 * Compares the client's state with the previous frame and attaches the
+	 * differences to a hitch recorded this frame. Called once per frame,
+	 * after the frame time was recorded.
+	 */
+	static void observe(MinecraftClient client, long now) {
+		int context = 0;
+		
+		Screen screen = client.currentScreen;
+		if (screen != lastScreen) {
+			context |= CONTEXT_SCREEN;
+			lastScreen = screen;
+		}
+		
+		ClientWorld world = client.world;
+		if (world != lastWorld) {
+			worldChangeNanos = now;
+			lastWorld = world;
+		}
+		if (world != null && now - worldChangeNanos < WORLD_JOIN_NANOS) {
+			context |= CONTEXT_WORLD;
+		}
+		
+		int chunkCount = world != null ? world.getChunkManager().getLoadedChunkCount() : -1;
+		if (chunkCount != lastChunkCount) {
+			if (chunkCount >= 0 && lastChunkCount >= 0) {
+				context |= CONTEXT_CHUNKS;
+			}
+			lastChunkCount = chunkCount;
+		}
+		
+		// Hitches recorded since the last call happened in the frame just observed
+		for (long event = observedEvents; event < eventCount; event++) {
+			eventContexts[(int) (event % CAPACITY)] = context;
+		}
+		observedEvents = eventCount;
+	}
+	
+	private static void addToWindow(long frameNanos) {
+		if (windowSize == WINDOW) {
+			long oldest = window[windowHead];
+			int index = Arrays.binarySearch(sorted, 0, windowSize, oldest);
+			System.arraycopy(sorted, index + 1, sorted, index, windowSize - index - 1);
+			windowSize--;
+		}
+		int insert = Arrays.binarySearch(sorted, 0, windowSize, frameNanos);
+		if (insert < 0) {
+			insert = -insert - 1;
+		}
+		System.arraycopy(sorted, insert, sorted, insert + 1, windowSize - insert);
+		sorted[insert] = frameNanos;
+		windowSize++;
+		
+		window[windowHead] = frameNanos;
+		windowHead = (windowHead + 1) % WINDOW;
+	}
+	
+	/**
+	 * Total number of hitches detected since startup.
+	 */
+	public static long getEventCount() {
+		return eventCount;
+	}
+	
+	/**
+	 * Number of hitches currently retained in the ring.
+	 */
+	public static int getRetainedEvents() {
+		return (int) Math.min(eventCount, CAPACITY);
+	}
+	
+	/**
+	 * When the most recent hitch ended ({@link System#nanoTime()}), or 0 if there was none.
+	 */
+	public static long getLastHitchNanos() {
+		return lastHitchNanos;
+	}
+	
+	// Accessors for retained hitches by age: 0 is the most recent
+	
+	public static long getTimeNanos(int age) {
+		return eventTimes[slot(age)];
+	}
+	
+	public static long getDurationNanos(int age) {
+		return eventDurations[slot(age)];
+	}
+	
+	/**
+	 * Median frame time before the hitch.
+	 */
+	public static long getMedianNanos(int age) {
+		return eventMedians[slot(age)];
+	}
+	
+	/**
+	 * The hitch frame's index in {@link FrameTimeRecorder}, compare with
+	 * {@link FrameTimeRecorder#getFrameCount()}.
+	 */
+	public static long getFrameIndex(int age) {
+		return eventFrames[slot(age)];
+	}
+	
+	/**
+	 * The sample interval the hitch fell into, compare with
+	 * {@link FrameTimeRecorder#getIntervalSequence()}.
+	 */
+	public static long getInterval(int age) {
+		return eventIntervals[slot(age)];
+	}
+	
+	/**
+	 * CONTEXT_* flags for what happened during the hitch frame.
+	 */
+	public static int getContext(int age) {
+		return eventContexts[slot(age)];
+	}
+	
+	/**
+	 * Describes context flags in words, e.g. "chunk loading, screen change".
+	 */
+	public static String describeContext(int context) {
+		if (context == 0) {
+			return "no known cause";
+		}
+		StringBuilder description = new StringBuilder();
+		if ((context & CONTEXT_WORLD) != 0) description.append("world join, ");
+		if ((context & CONTEXT_CHUNKS) != 0) description.append("chunk loading, ");
+		if ((context & CONTEXT_SCREEN) != 0) description.append("screen change, ");
+		return description.substring(0, description.length() - 2);
+	}
+	
+	public static void clear() {
+		eventCount = 0;
+		observedEvents = 0;
+		lastHitchNanos = 0;
+	}
+	
+	private static int slot(int age) {
+		if (age < 0 || age >= getRetainedEvents()) {
+			throw new IndexOutOfBoundsException("Hitch " + age + " is not retained");
+		}
+		return (int) ((eventCount - 1 - age) % CAPACITY);
+	}
+}
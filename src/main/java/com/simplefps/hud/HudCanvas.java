@@ -0,0 +1,165 @@
+package com.simplefps.hud;
+
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+import org.joml.Matrix3x2f;
+import org.joml.Matrix3x2fStack;
+
+import java.util.Arrays;
+
+/**
+ * What HUD elements draw through. Fills, text and the pipeline's scale
+ * transforms are passed straight on to the {@link DrawContext}; while
+ * recording they are also kept in flat arrays, so a frame whose content
+ * didn't change can be drawn again with {@link #replay} without running
+ * any element code.
+ *
+ * The arrays are reused between recordings and only grow.
+ */
+public final class HudCanvas {
+	private static final byte OP_FILL = 0;
+	private static final byte OP_TEXT = 1;
+	private static final byte OP_PUSH = 2;
+	private static final byte OP_TRANSFORM = 3;
+	private static final byte OP_POP = 4;
+	private static final int STRIDE = 5; // fill: x0, y0, x1, y1, color - text: x, y, color - transform: x, y
+	
+	private DrawContext context;
+	private boolean recording = false;
+	
+	// Recorded operations
+	private byte[] ops = new byte[64];
+	private int[] ints = new int[64 * STRIDE];
+	private float[] scales = new float[64];
+	private String[] texts = new String[64];
+	private TextRenderer textRenderer;
+	private int count = 0;
+	
+	private final Matrix3x2f baseMatrix = new Matrix3x2f();
+	
+	/**
+	 * Starts drawing to a context.
+	 * @param record If true, the previous recording is discarded and this frame is recorded
+	 */
+	void begin(DrawContext context, boolean record) {
+		this.context = context;
+		this.recording = record;
+		if (record) {
+			count = 0;
+		}
+	}
+	
+	/**
+	 * Stops recording; the recorded frame stays available for {@link #replay}.
+	 */
+	void end() {
+		recording = false;
+	}
+	
+	public void fill(int x0, int y0, int x1, int y1, int color) {
+		context.fill(x0, y0, x1, y1, color);
+		if (recording) {
+			int offset = add(OP_FILL);
+			ints[offset] = x0;
+			ints[offset + 1] = y0;
+			ints[offset + 2] = x1;
+			ints[offset + 3] = y1;
+			ints[offset + 4] = color;
+		}
+	}
+	
+	/**
+	 * Draws text with a shadow.
+	 */
+	public void drawText(TextRenderer textRenderer, String text, int x, int y, int color) {
+		context.drawTextWithShadow(textRenderer, text, x, y, color);
+		if (recording) {
+			int offset = add(OP_TEXT);
+			ints[offset] = x;
+			ints[offset + 1] = y;
+			ints[offset + 2] = color;
+			texts[count - 1] = text;
+			this.textRenderer = textRenderer;
+		}
+	}
+	
+	/**
+	 * Pushes the matrix stack and remembers the current matrix as the base
+	 * for {@link #transform}.
+	 */
+	void pushMatrix() {
+		Matrix3x2fStack matrices = context.getMatrices();
+		matrices.pushMatrix();
+		baseMatrix.set(matrices);
+		if (recording) {
+			add(OP_PUSH);
+		}
+	}
+	
+	/**
+	 * Resets to the base matrix, then translates and scales.
+	 */
+	void transform(int x, int y, float scale) {
+		Matrix3x2fStack matrices = context.getMatrices();
+		matrices.set(baseMatrix);
+		matrices.translate(x, y);
+		matrices.scale(scale, scale);
+		if (recording) {
+			int offset = add(OP_TRANSFORM);
+			ints[offset] = x;
+			ints[offset + 1] = y;
+			scales[count - 1] = scale;
+		}
+	}
+	
+	void popMatrix() {
+		context.getMatrices().popMatrix();
+		if (recording) {
+			add(OP_POP);
+		}
+	}
+	
+	/**
+	 * Draws the last recorded frame again.
+	 */
+	void replay(DrawContext context) {
+		Matrix3x2fStack matrices = context.getMatrices();
+		for (int i = 0; i < count; i++) {
+			int offset = i * STRIDE;
+			switch (ops[i]) {
+				case OP_FILL -> context.fill(ints[offset], ints[offset + 1], ints[offset + 2], ints[offset + 3], ints[offset + 4]);
+				case OP_TEXT -> context.drawTextWithShadow(textRenderer, texts[i], ints[offset], ints[offset + 1], ints[offset + 2]);
+				case OP_PUSH -> {
+					matrices.pushMatrix();
+					baseMatrix.set(matrices);
+				}
+				case OP_TRANSFORM -> {
+					matrices.set(baseMatrix);
+					matrices.translate(ints[offset], ints[offset + 1]);
+					matrices.scale(scales[i], scales[i]);
+				}
+				case OP_POP -> matrices.popMatrix();
+				default -> throw new IllegalStateException("Unknown HUD op " + ops[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Number of recorded operations.
+	 */
+	public int getRecordedCount() {
+		return count;
+	}
+	
+	private int add(byte op) {
+		if (count == ops.length) {
+			int capacity = ops.length * 2;
+			ops = Arrays.copyOf(ops, capacity);
+			ints = Arrays.copyOf(ints, capacity * STRIDE);
+			scales = Arrays.copyOf(scales, capacity);
+			texts = Arrays.copyOf(texts, capacity);
+		}
+		ops[count] = op;
+		return count++ * STRIDE;
+	}
+}
@@ -0,0 +1,65 @@
+package com.simplefps.hud;
+
+/**
+ * Tells {@link HudPipeline} whether the frame recorded in its {@link HudCanvas}
+ * still matches what the elements would draw now.
+ *
+ * A recording stays valid while the config snapshot, text renderer, screen
+ * size, the set of drawn elements and each element's
+ * {@link HudElement#getContentVersion() content version} are all unchanged.
+ */
+final class HudDirtyTracker {
+	private boolean valid = false;
+	private Object snapshot;
+	private Object textRenderer;
+	private int screenWidth;
+	private int screenHeight;
+	private HudElement[] elements = new HudElement[8];
+	private long[] versions = new long[8];
+	private int count = 0;
+	
+	/**
+	 * Whether the recording was made from exactly this state.
+	 * @param active Elements that are drawn this frame, in draw order
+	 */
+	boolean isClean(HudFrame frame, HudElement[] active, int activeCount) {
+		if (!valid
+			|| snapshot != frame.getSnapshot()
+			|| textRenderer != frame.getTextRenderer()
+			|| screenWidth != frame.getScreenWidth()
+			|| screenHeight != frame.getScreenHeight()
+			|| count != activeCount) {
+			return false;
+		}
+		for (int i = 0; i < activeCount; i++) {
+			if (elements[i] != active[i] || versions[i] != active[i].getContentVersion()) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Remembers the state a new recording was made from.
+	 */
+	void record(HudFrame frame, HudElement[] active, int activeCount) {
+		if (activeCount > elements.length) {
+			elements = new HudElement[activeCount];
+			versions = new long[activeCount];
+		}
+		snapshot = frame.getSnapshot();
+		textRenderer = frame.getTextRenderer();
+		screenWidth = frame.getScreenWidth();
+		screenHeight = frame.getScreenHeight();
+		for (int i = 0; i < activeCount; i++) {
+			elements[i] = active[i];
+			versions[i] = active[i].getContentVersion();
+		}
+		count = activeCount;
+		valid = true;
+	}
+	
+	void invalidate() {
+		valid = false;
+	}
+}
@@ -0,0 +1,84 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+
+/**
+ * A HUD element drawn by {@link HudPipeline}.
+ *
+ * Each frame the pipeline calls {@link #update} then {@link #measure} on
+ * every enabled element before anything is drawn, then draws in two passes:
+ * {@link #render} in screen space for all elements, then {@link #renderText}
+ * with the element's scale applied. Disabled elements are skipped without
+ * any of these being called.
+ *
+ * Drawing goes through a {@link HudCanvas} so the pipeline can record the
+ * frame and, in cache mode, replay it while no element's content changed.
+ */
+public interface HudElement {
+	
+	/**
+	 * Short display name, e.g. "FPS" or "Graph".
+	 */
+	String getName();
+	
+	/**
+	 * Whether the element is turned on in the given config.
+	 */
+	boolean isEnabled(HudSnapshot snapshot);
+	
+	/**
+	 * Refreshes cached values (text, samples) for this frame.
+	 * @return false if there is nothing to draw this frame (e.g. no world loaded)
+	 */
+	boolean update(HudFrame frame);
+	
+	/**
+	 * Called once per client tick (20 times a second), also while the element
+	 * is disabled. Elements refreshed at tick rate mark themselves dirty here
+	 * and pick the new values up on the next {@link #update}.
+	 */
+	default void tick() {
+	}
+	
+	/**
+	 * Computes the element's on-screen position and size, clamped to the screen.
+	 */
+	void measure(HudFrame frame);
+	
+	/**
+	 * Draws backgrounds and other unscaled content in screen coordinates.
+	 */
+	void render(HudCanvas canvas, HudFrame frame);
+	
+	/**
+	 * Draws the scaled text. The pipeline has already applied {@link #getScale()}
+	 * when it is not 1, in which case the origin is (0, 0); otherwise the
+	 * element's screen position is passed in.
+	 */
+	default void renderText(HudCanvas canvas, HudFrame frame, int originX, int originY) {
+	}
+	
+	/**
+	 * Changes whenever the last {@link #update} changed what the element
+	 * draws (text, colors, samples). Changes that come from the config
+	 * snapshot or the screen size don't need to be counted here.
+	 */
+	long getContentVersion();
+	
+	/**
+	 * Text scale from the last {@link #update}; 1 if the element draws no scaled text.
+	 */
+	default float getScale() {
+		return 1.0f;
+	}
+	
+	/**
+	 * Screen X of the element from the last {@link #measure}.
+	 */
+	int getX();
+	
+	/**
+	 * Screen Y of the element from the last {@link #measure}.
+	 */
+	int getY();
+}
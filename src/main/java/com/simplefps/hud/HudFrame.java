@@ -0,0 +1,71 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.font.TextRenderer;
+
+/**
+ * Per-frame values shared by all HUD elements. One instance is reused by
+ * {@link HudPipeline} and refilled at the start of every frame, so the
+ * window size and config snapshot are read once instead of per element.
+ */
+public final class HudFrame {
+	private MinecraftClient client;
+	private TextRenderer textRenderer;
+	private HudSnapshot snapshot;
+	private int screenWidth;
+	private int screenHeight;
+	private boolean preview;
+	private long nanoTime;
+	
+	void begin(MinecraftClient client, HudSnapshot snapshot, boolean preview) {
+		begin(client, client.textRenderer, snapshot, client.getWindow().getScaledWidth(), client.getWindow().getScaledHeight(), preview);
+	}
+	
+	/**
+	 * Fills the frame from explicit values; headless tests pass no client.
+	 */
+	void begin(MinecraftClient client, TextRenderer textRenderer, HudSnapshot snapshot, int screenWidth, int screenHeight, boolean preview) {
+		this.client = client;
+		this.textRenderer = textRenderer;
+		this.snapshot = snapshot;
+		this.screenWidth = screenWidth;
+		this.screenHeight = screenHeight;
+		this.preview = preview;
+		this.nanoTime = System.nanoTime();
+	}
+	
+	public MinecraftClient getClient() {
+		return client;
+	}
+	
+	public TextRenderer getTextRenderer() {
+		return textRenderer;
+	}
+	
+	public HudSnapshot getSnapshot() {
+		return snapshot;
+	}
+	
+	public int getScreenWidth() {
+		return screenWidth;
+	}
+	
+	public int getScreenHeight() {
+		return screenHeight;
+	}
+	
+	/**
+	 * True when drawn for a config or drag screen rather than the in-game HUD.
+	 */
+	public boolean isPreview() {
+		return preview;
+	}
+	
+	/**
+	 * {@link System#nanoTime()} at the start of the frame.
+	 */
+	public long getNanoTime() {
+		return nanoTime;
+	}
+}
@@ -0,0 +1,162 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+import com.simplefps.config.SimpleFPSConfig;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.DrawContext;
+
+/**
+ * Draws the HUD elements in one pass per frame.
+ *
+ * All enabled elements are updated and measured first, then drawn: screen
+ * space content (backgrounds, graph) for every element, then unscaled text,
+ * then all scaled text under a single matrix push. Disabled elements are
+ * skipped after one config check. With {@link HudProfiler} on, the same
+ * passes run over timing wrappers instead.
+ *
+ * With the HUD cache option on, the drawn frame is recorded and replayed as
+ * long as every element reports unchanged content, so measuring and the
+ * elements' draw code only run on frames where something changed. The cache
+ * is bypassed while profiling so the numbers show the elements' real cost.
+ */
+public class HudPipeline {
+	// Draw order - later elements are drawn over earlier ones
+	private static final HudElement[] ELEMENTS = {
+		FPSHudRenderer.INSTANCE,
+		FPSGraphRenderer.INSTANCE,
+		CoordinatesRenderer.INSTANCE,
+		BiomeRenderer.INSTANCE,
+		TimeClockRenderer.INSTANCE,
+		MemoryRenderer.INSTANCE
+	};
+	
+	// Reused every frame
+	private static final HudFrame frame = new HudFrame();
+	private static final HudElement[] active = new HudElement[ELEMENTS.length];
+	private static final HudCanvas canvas = new HudCanvas();
+	private static final HudDirtyTracker dirtyTracker = new HudDirtyTracker();
+	
+	// Single-element draws (screen previews) never touch the HUD's frame or recording
+	private static final HudFrame singleFrame = new HudFrame();
+	private static final HudElement[] single = new HudElement[1];
+	private static final HudCanvas singleCanvas = new HudCanvas();
+	
+	/**
+	 * Gets all elements in draw order.
+	 */
+	public static HudElement[] getElements() {
+		return ELEMENTS.clone();
+	}
+	
+	/**
+	 * Lets every element know a client tick has passed.
+	 */
+	public static void tick() {
+		for (HudElement element : ELEMENTS) {
+			element.tick();
+		}
+	}
+	
+	/**
+	 * Draws all enabled elements on the in-game HUD.
+	 */
+	public static void render(DrawContext context) {
+		HudSnapshot snapshot = SimpleFPSConfig.snapshot();
+		frame.begin(MinecraftClient.getInstance(), snapshot, false);
+		
+		// This frame's time was just recorded - note what happened during it in case it was a hitch
+		HitchDetector.setMultiplier(snapshot.fps().hitchMultiplier());
+		HitchDetector.observe(frame.getClient(), frame.getNanoTime());
+		
+		if (HudProfiler.isEnabled()) {
+			HudProfiler.beginFrame();
+			renderElements(context, HudProfiler.getProfiledElements(ELEMENTS), false);
+			HudProfiler.endFrame();
+			HudProfiler.renderOverlay(context, frame);
+		} else {
+			renderElements(context, ELEMENTS, snapshot.hudCache());
+		}
+	}
+	
+	private static void renderElements(DrawContext context, HudElement[] elements, boolean cache) {
+		HudSnapshot snapshot = frame.getSnapshot();
+		int count = 0;
+		for (HudElement element : elements) {
+			if (element.isEnabled(snapshot) && element.update(frame)) {
+				active[count++] = element;
+			}
+		}
+		
+		if (!cache) {
+			dirtyTracker.invalidate();
+			canvas.begin(context, false);
+			draw(canvas, frame, active, count);
+			return;
+		}
+		
+		// Nothing changed since the recorded frame: draw it again as it was
+		if (dirtyTracker.isClean(frame, active, count)) {
+			canvas.replay(context);
+			return;
+		}
+		canvas.begin(context, true);
+		draw(canvas, frame, active, count);
+		canvas.end();
+		dirtyTracker.record(frame, active, count);
+	}
+	
+	/**
+	 * Draws a single element, e.g. for a config or drag screen preview.
+	 * Previews should pass an instance of their own, since updating an
+	 * element refreshes its cached text and refresh timing.
+	 * @param preview If true, draws the element even if it is disabled in the config
+	 */
+	public static void renderSingle(DrawContext context, HudElement element, boolean preview) {
+		HudSnapshot snapshot = SimpleFPSConfig.snapshot();
+		if (!preview && !element.isEnabled(snapshot)) {
+			return;
+		}
+		singleFrame.begin(MinecraftClient.getInstance(), snapshot, preview);
+		if (element.update(singleFrame)) {
+			single[0] = element;
+			singleCanvas.begin(context, false);
+			draw(singleCanvas, singleFrame, single, 1);
+		}
+	}
+	
+	private static void draw(HudCanvas canvas, HudFrame frame, HudElement[] elements, int count) {
+		for (int i = 0; i < count; i++) {
+			elements[i].measure(frame);
+		}
+		for (int i = 0; i < count; i++) {
+			elements[i].render(canvas, frame);
+		}
+		
+		// Unscaled text is drawn directly at its screen position
+		boolean anyScaled = false;
+		for (int i = 0; i < count; i++) {
+			HudElement element = elements[i];
+			if (element.getScale() == 1.0f) {
+				element.renderText(canvas, frame, element.getX(), element.getY());
+			} else {
+				anyScaled = true;
+			}
+		}
+		if (!anyScaled) {
+			return;
+		}
+		
+		// Scaled text shares one push; each element resets to the base matrix
+		// instead of pushing its own, so positions stay exact
+		canvas.pushMatrix();
+		for (int i = 0; i < count; i++) {
+			HudElement element = elements[i];
+			float scale = element.getScale();
+			if (scale != 1.0f) {
+				canvas.transform(element.getX(), element.getY(), scale);
+				element.renderText(canvas, frame, 0, 0);
+			}
+		}
+		canvas.popMatrix();
+	}
+}
@@ -0,0 +1,281 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+import net.minecraft.client.font.TextRenderer;
+import net.minecraft.client.gui.DrawContext;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Measures what SimpleFPS's own HUD costs per frame.
+ *
+ * When enabled, {@link HudPipeline} draws through wrappers that time every
+ * phase of each element with {@link System#nanoTime()} and, where the JVM
+ * supports it, count the bytes the render thread allocated. Per-frame totals
+ * go into one {@link NanoHistogram} per element and are shown in a small
+ * overlay (toggled with {@code /simplefps profiler}).
+ *
+ * When disabled, the pipeline's only cost is one check of {@link #isEnabled()}.
+ */
+public class HudProfiler {
+	private static final long OVERLAY_REFRESH_NANOS = 500_000_000L;
+	private static final int OVERLAY_COLOR = 0xFFFFFFFF;
+	private static final int OVERLAY_HEADER_COLOR = 0xFFAAAAAA;
+	private static final int OVERLAY_BACKGROUND = 0xA0000000;
+	
+	private static boolean enabled = false;
+	
+	// Built on first enable, in HudPipeline draw order
+	private static ProfiledElement[] profiled = null;
+	private static final NanoHistogram totalHistogram = new NanoHistogram();
+	private static long totalBytes = 0;
+	private static long frameStartNanos = 0;
+	private static long frameStartBytes = 0;
+	
+	// Overlay text, rebuilt twice a second rather than every frame
+	private static String[] overlayLines = new String[0];
+	private static int overlayWidth = 0;
+	private static long lastOverlayRefresh = 0;
+	
+	public static boolean isEnabled() {
+		return enabled;
+	}
+	
+	public static void setEnabled(boolean enabled) {
+		if (enabled && !HudProfiler.enabled) {
+			reset(); // Start from a clean slate each time it's turned on
+		}
+		HudProfiler.enabled = enabled;
+	}
+	
+	/**
+	 * Clears all recorded samples.
+	 */
+	public static void reset() {
+		if (profiled != null) {
+			for (ProfiledElement element : profiled) {
+				element.histogram.clear();
+				element.totalBytes = 0;
+			}
+		}
+		totalHistogram.clear();
+		totalBytes = 0;
+		overlayLines = new String[0];
+		lastOverlayRefresh = 0;
+	}
+	
+	/**
+	 * Whether allocation counts are available on this JVM.
+	 */
+	public static boolean isAllocationTrackingSupported() {
+		return AllocationTracking.BEAN != null;
+	}
+	
+	/**
+	 * Gets timing wrappers for the pipeline's elements (same order).
+	 */
+	static HudElement[] getProfiledElements(HudElement[] elements) {
+		if (profiled == null) {
+			profiled = new ProfiledElement[elements.length];
+			for (int i = 0; i < elements.length; i++) {
+				profiled[i] = new ProfiledElement(elements[i]);
+			}
+		}
+		return profiled;
+	}
+	
+	static void beginFrame() {
+		for (ProfiledElement element : profiled) {
+			element.frameNanos = 0;
+			element.frameBytes = 0;
+			element.active = false;
+		}
+		frameStartBytes = allocatedBytes();
+		frameStartNanos = System.nanoTime();
+	}
+	
+	static void endFrame() {
+		long nanos = System.nanoTime() - frameStartNanos;
+		totalBytes += allocatedBytes() - frameStartBytes;
+		totalHistogram.record(nanos);
+		
+		// Only frames where an element was drawn count towards its stats
+		for (ProfiledElement element : profiled) {
+			if (element.active) {
+				element.histogram.record(element.frameNanos);
+				element.totalBytes += element.frameBytes;
+			}
+		}
+	}
+	
+	/**
+	 * Draws the cost table in the top right corner.
+	 */
+	static void renderOverlay(DrawContext context, HudFrame frame) {
+		TextRenderer textRenderer = frame.getTextRenderer();
+		long now = System.nanoTime();
+		if (now - lastOverlayRefresh >= OVERLAY_REFRESH_NANOS) {
+			overlayLines = buildReport();
+			overlayWidth = 0;
+			for (String line : overlayLines) {
+				overlayWidth = Math.max(overlayWidth, textRenderer.getWidth(line));
+			}
+			lastOverlayRefresh = now;
+		}
+		
+		int lineHeight = textRenderer.fontHeight + 1;
+		int x = frame.getScreenWidth() - overlayWidth - 4;
+		int y = 4;
+		context.fill(x - 2, y - 2, x + overlayWidth + 2, y + overlayLines.length * lineHeight + 1, OVERLAY_BACKGROUND);
+		for (int i = 0; i < overlayLines.length; i++) {
+			context.drawTextWithShadow(textRenderer, overlayLines[i], x, y + i * lineHeight, i == 0 ? OVERLAY_HEADER_COLOR : OVERLAY_COLOR);
+		}
+	}
+	
+	/**
+	 * Builds the report as text lines: a header, one line per element and a
+	 * total for the whole HUD pass (including the pipeline itself).
+	 */
+	public static String[] buildReport() {
+		int elementCount = profiled != null ? profiled.length : 0;
+		String[] lines = new String[elementCount + 2];
+		lines[0] = AllocationTracking.BEAN != null ? "HUD      mean   p99 (µs)  B/frame" : "HUD      mean   p99 (µs)";
+		for (int i = 0; i < elementCount; i++) {
+			ProfiledElement element = profiled[i];
+			lines[i + 1] = formatLine(element.getName(), element.histogram, element.totalBytes);
+		}
+		lines[elementCount + 1] = formatLine("Total", totalHistogram, totalBytes);
+		return lines;
+	}
+	
+	private static String formatLine(String name, NanoHistogram histogram, long bytes) {
+		long frames = histogram.getCount();
+		if (frames == 0) {
+			return String.format("%-7s     -      -", name);
+		}
+		String line = String.format("%-7s %6.1f %6.1f", name,
+			histogram.getMeanNanos() / 1000.0,
+			histogram.getValueAtPercentile(99) / 1000.0);
+		if (AllocationTracking.BEAN != null) {
+			line += String.format(" %8d", bytes / frames);
+		}
+		return line;
+	}
+	
+	private static long allocatedBytes() {
+		com.sun.management.ThreadMXBean bean = AllocationTracking.BEAN;
+		return bean != null ? bean.getCurrentThreadAllocatedBytes() : 0;
+	}
+	
+	/**
+	 * Holds the allocation bean. Looking it up switches on allocation
+	 * counting for every thread in the JVM, so this class is only loaded
+	 * once the profiler is enabled (every access above is behind that check).
+	 */
+	private static final class AllocationTracking {
+		// Null if the JVM can't report per-thread allocations
+		static final com.sun.management.ThreadMXBean BEAN = findAllocationBean();
+		
+		private static com.sun.management.ThreadMXBean findAllocationBean() {
+			try {
+				if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+					&& bean.isThreadAllocatedMemorySupported()) {
+					if (!bean.isThreadAllocatedMemoryEnabled()) {
+						bean.setThreadAllocatedMemoryEnabled(true);
+					}
+					return bean;
+				}
+			} catch (UnsupportedOperationException | SecurityException | LinkageError e) {
+				// Not a HotSpot-style JVM - timing still works, allocations are just not shown
+			}
+			return null;
+		}
+	}
+	
+	/**
+	 * Wraps an element and adds the time (and allocations) of each phase to
+	 * the current frame's totals.
+	 */
+	private static final class ProfiledElement implements HudElement {
+		private final HudElement delegate;
+		private final NanoHistogram histogram = new NanoHistogram();
+		private long totalBytes = 0;
+		
+		// Current frame
+		private long frameNanos;
+		private long frameBytes;
+		private boolean active;
+		
+		ProfiledElement(HudElement delegate) {
+			this.delegate = delegate;
+		}
+		
+		@Override
+		public String getName() {
+			return delegate.getName();
+		}
+		
+		@Override
+		public boolean isEnabled(HudSnapshot snapshot) {
+			return delegate.isEnabled(snapshot);
+		}
+		
+		@Override
+		public boolean update(HudFrame frame) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			boolean result = delegate.update(frame);
+			frameNanos += System.nanoTime() - start;
+			frameBytes += allocatedBytes() - bytes;
+			active = result;
+			return result;
+		}
+		
+		@Override
+		public void measure(HudFrame frame) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			delegate.measure(frame);
+			frameNanos += System.nanoTime() - start;
+			frameBytes += allocatedBytes() - bytes;
+		}
+		
+		@Override
+		public void render(HudCanvas canvas, HudFrame frame) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			delegate.render(canvas, frame);
+			frameNanos += System.nanoTime() - start;
+			frameBytes += allocatedBytes() - bytes;
+		}
+		
+		@Override
+		public void renderText(HudCanvas canvas, HudFrame frame, int originX, int originY) {
+			long bytes = allocatedBytes();
+			long start = System.nanoTime();
+			delegate.renderText(canvas, frame, originX, originY);
+			frameNanos += System.nanoTime() - start;
+			frameBytes += allocatedBytes() - bytes;
+		}
+		
+		@Override
+		public long getContentVersion() {
+			return delegate.getContentVersion();
+		}
+		
+		@Override
+		public float getScale() {
+			return delegate.getScale();
+		}
+		
+		@Override
+		public int getX() {
+			return delegate.getX();
+		}
+		
+		@Override
+		public int getY() {
+			return delegate.getY();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.simplefps.hud;
+
+import net.minecraft.client.font.TextRenderer;
+
+/**
+ * Caches a HUD element's display string and its measured width, keyed on the
+ * primitive values it was built from.
+ *
+ * Renderers call {@link #isValid} with the current key every frame and only
+ * rebuild the string (and call {@link TextRenderer#getWidth(String)}) when
+ * the key changed, so an unchanged element costs no allocation.
+ */
+public class HudTextCache {
+	private TextRenderer textRenderer;
+	private long key0;
+	private long key1;
+	private Object keyObject;
+	private boolean valid = false;
+	
+	private String text = "";
+	private int width = 0;
+	
+	/**
+	 * Whether the cached text was built from exactly these key values.
+	 * @param textRenderer Renderer used to measure the text (font reloads invalidate)
+	 * @param key0 First primitive key, e.g. the FPS value or a packed BlockPos
+	 * @param key1 Second primitive key, e.g. packed display flags
+	 * @param keyObject Identity key, e.g. a biome RegistryKey (compared with ==)
+	 */
+	public boolean isValid(TextRenderer textRenderer, long key0, long key1, Object keyObject) {
+		return valid
+			&& this.textRenderer == textRenderer
+			&& this.key0 == key0
+			&& this.key1 == key1
+			&& this.keyObject == keyObject;
+	}
+	
+	/**
+	 * Stores freshly built text for the given key and measures it once.
+	 */
+	public void update(TextRenderer textRenderer, long key0, long key1, Object keyObject, String text) {
+		this.textRenderer = textRenderer;
+		this.key0 = key0;
+		this.key1 = key1;
+		this.keyObject = keyObject;
+		this.text = text;
+		this.width = textRenderer.getWidth(text);
+		this.valid = true;
+	}
+	
+	public void invalidate() {
+		valid = false;
+	}
+	
+	public String getText() {
+		return text;
+	}
+	
+	/**
+	 * Unscaled width of the cached text in pixels.
+	 */
+	public int getWidth() {
+		return width;
+	}
+}
@@ -0,0 +1,136 @@
+package com.simplefps.hud;
+
+/**
+ * Fixed-capacity ring buffer of primitive ints with O(1) rolling statistics.
+ *
+ * The running sum is updated incrementally, and the window min/max are kept
+ * in monotonic deques, so adding a sample and reading sum/avg/min/max never
+ * iterates the buffer and never allocates (no boxing, no list nodes).
+ */
+public class IntRingBuffer {
+	private final int[] values;
+	private int head = 0; // Slot of the oldest sample
+	private int size = 0;
+	private long sum = 0;
+	
+	// Monotonic deques of slot indices (front = current min / max of the window)
+	private final int[] minDeque;
+	private int minHead = 0;
+	private int minSize = 0;
+	private final int[] maxDeque;
+	private int maxHead = 0;
+	private int maxSize = 0;
+	
+	public IntRingBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+		}
+		this.values = new int[capacity];
+		this.minDeque = new int[capacity];
+		this.maxDeque = new int[capacity];
+	}
+	
+	/**
+	 * Appends a sample, evicting the oldest one when the buffer is full.
+	 */
+	public void add(int value) {
+		int capacity = values.length;
+		
+		if (size == capacity) {
+			// Evict the oldest sample
+			sum -= values[head];
+			if (minSize > 0 && minDeque[minHead] == head) {
+				minHead = (minHead + 1) % capacity;
+				minSize--;
+			}
+			if (maxSize > 0 && maxDeque[maxHead] == head) {
+				maxHead = (maxHead + 1) % capacity;
+				maxSize--;
+			}
+			head = (head + 1) % capacity;
+			size--;
+		}
+		
+		int slot = (head + size) % capacity;
+		values[slot] = value;
+		sum += value;
+		size++;
+		
+		// Drop candidates that can never be the min/max again
+		while (minSize > 0 && values[minDeque[(minHead + minSize - 1) % capacity]] >= value) {
+			minSize--;
+		}
+		minDeque[(minHead + minSize) % capacity] = slot;
+		minSize++;
+		
+		while (maxSize > 0 && values[maxDeque[(maxHead + maxSize - 1) % capacity]] <= value) {
+			maxSize--;
+		}
+		maxDeque[(maxHead + maxSize) % capacity] = slot;
+		maxSize++;
+	}
+	
+	/**
+	 * Gets a sample by age order: 0 is the oldest, size() - 1 the newest.
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+		}
+		return values[(head + index) % values.length];
+	}
+	
+	/**
+	 * Gets the most recently added sample, or the fallback if empty.
+	 */
+	public int getLast(int fallback) {
+		return size == 0 ? fallback : values[(head + size - 1) % values.length];
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int capacity() {
+		return values.length;
+	}
+	
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	public long sum() {
+		return sum;
+	}
+	
+	/**
+	 * Average of the samples in the buffer (integer division), or 0 if empty.
+	 */
+	public int average() {
+		return size == 0 ? 0 : (int) (sum / size);
+	}
+	
+	/**
+	 * Smallest sample in the buffer, or the fallback if empty.
+	 */
+	public int min(int fallback) {
+		return minSize == 0 ? fallback : values[minDeque[minHead]];
+	}
+	
+	/**
+	 * Largest sample in the buffer, or the fallback if empty.
+	 */
+	public int max(int fallback) {
+		return maxSize == 0 ? fallback : values[maxDeque[maxHead]];
+	}
+	
+	public void clear() {
+		head = 0;
+		size = 0;
+		sum = 0;
+		minHead = 0;
+		minSize = 0;
+		maxHead = 0;
+		maxSize = 0;
+	}
+}
@@ -0,0 +1,89 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+import net.minecraft.client.gui.DrawContext;
+
+/**
+ * Renders heap usage, allocation rate and recent GC pauses, e.g.
+ * "Mem: 812/2048 MB (max 4096) | 145 MB/s | GC: 3x max 12 ms".
+ *
+ * All values come from {@link MemorySampler}, which updates them twice a
+ * second on its own thread; this element only reads them and rebuilds its
+ * text when a new sample arrived.
+ */
+public class MemoryRenderer extends TextHudElement {
+	public static final MemoryRenderer INSTANCE = new MemoryRenderer();
+	// Screen previews get their own text cache and refresh state
+	private static final MemoryRenderer PREVIEW = new MemoryRenderer();
+	
+	private static final long MEGABYTE = 1024 * 1024;
+	
+	/**
+	 * Renders the memory display.
+	 * @param context The draw context
+	 * @param isPreview If true, renders even when disabled (drag screen)
+	 */
+	public static void render(DrawContext context, boolean isPreview) {
+		HudPipeline.renderSingle(context, isPreview ? PREVIEW : INSTANCE, isPreview);
+	}
+	
+	@Override
+	public String getName() {
+		return "Memory";
+	}
+	
+	@Override
+	protected HudSnapshot.TextElement getConfig(HudSnapshot snapshot) {
+		return snapshot.memory();
+	}
+	
+	@Override
+	protected boolean updateText(HudFrame frame) {
+		MemorySampler.ensureStarted();
+		long sample = MemorySampler.getSampleCount();
+		if (sample == 0) {
+			return false;
+		}
+		
+		// Display string is rebuilt only when a new sample was published
+		if (!textCache.isValid(frame.getTextRenderer(), sample, 0, null)) {
+			textCache.update(frame.getTextRenderer(), sample, 0, null, formatMemoryDisplay(
+				MemorySampler.getHeapUsed(),
+				MemorySampler.getHeapCommitted(),
+				MemorySampler.getHeapMax(),
+				MemorySampler.getAllocationRate(),
+				MemorySampler.getRecentPauses(),
+				MemorySampler.getRecentMaxPauseMicros()));
+		}
+		return true;
+	}
+	
+	/**
+	 * Formats the memory display.
+	 * @param max Maximum heap size, -1 if unlimited
+	 * @param allocationRate Bytes per second
+	 * @param pauses GC pauses in the last 10 seconds
+	 * @param maxPauseMicros Longest of those pauses
+	 */
+	static String formatMemoryDisplay(long used, long committed, long max, long allocationRate, int pauses, long maxPauseMicros) {
+		StringBuilder text = new StringBuilder(64);
+		text.append("Mem: ").append(used / MEGABYTE).append('/').append(committed / MEGABYTE).append(" MB");
+		if (max > 0) {
+			text.append(" (max ").append(max / MEGABYTE).append(')');
+		}
+		text.append(" | ").append(allocationRate / MEGABYTE).append(" MB/s | GC: ");
+		if (pauses == 0) {
+			text.append('-');
+		} else {
+			text.append(pauses).append("x max ").append((maxPauseMicros + 500) / 1000).append(" ms");
+		}
+		return text.toString();
+	}
+	
+	/**
+	 * Gets sample text for width calculation in drag screen.
+	 */
+	public static String getSampleText() {
+		return "Mem: 9999/9999 MB (max 9999) | 999 MB/s | GC: 99x max 999 ms";
+	}
+}
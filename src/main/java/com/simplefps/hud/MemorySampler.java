@@ -0,0 +1,268 @@
+package com.simplefps.hud;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples heap usage, allocation rate and GC pauses in the background for
+ * {@link MemoryRenderer}.
+ *
+ * Heap usage is read from the {@link MemoryMXBean} twice a second on a
+ * daemon thread. GC pauses arrive as JMX notifications from every garbage
+ * collector bean; the memory each collection freed is added to the heap
+ * growth between samples to get the allocation rate. Results are published
+ * as volatile primitives, so the render thread never touches a bean or
+ * allocates to read them.
+ *
+ * Pause start and end times are converted from the JVM uptime clock the
+ * notifications use to {@link System#nanoTime()}, the clock frame times are
+ * recorded with, so {@link GcCorrelator} can match pauses to frames.
+ */
+public class MemorySampler {
+	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Memory");
+	private static final long SAMPLE_MILLIS = 500;
+	private static final long PAUSE_WINDOW_NANOS = 10_000_000_000L; // "Recent" pauses
+	private static final int PAUSE_CAPACITY = 64;
+	
+	private static final MemoryMXBean MEMORY_BEAN = ManagementFactory.getMemoryMXBean();
+	
+	// nanoTime at JVM start, to put GcInfo start/end times (ms of uptime) on the frame clock.
+	// Uptime has millisecond resolution, so converted times can be off by up to 1 ms.
+	private static final long UPTIME_ORIGIN_NANOS = System.nanoTime() - ManagementFactory.getRuntimeMXBean().getUptime() * 1_000_000L;
+	
+	private static boolean listening = false;
+	private static ScheduledExecutorService executor = null;
+	
+	// Written by GC notification threads, drained by the sampler thread
+	private static final AtomicLong reclaimedBytes = new AtomicLong();
+	private static final Object PAUSE_LOCK = new Object();
+	
+	// Pause ring, written under PAUSE_LOCK; pauseCount is bumped after the slot is filled
+	private static final long[] pauseStarts = new long[PAUSE_CAPACITY];
+	private static final long[] pauseEnds = new long[PAUSE_CAPACITY];
+	private static final boolean[] pauseMajor = new boolean[PAUSE_CAPACITY];
+	private static volatile long pauseCount = 0;
+	
+	// Sampler thread state
+	private static long lastUsedBytes = -1;
+	private static long lastSampleNanos = 0;
+	
+	// Published results, sampleCount is written last
+	private static volatile long heapUsed = 0;
+	private static volatile long heapCommitted = 0;
+	private static volatile long heapMax = -1;
+	private static volatile long allocationRate = 0;      // Bytes per second
+	private static volatile int recentPauses = 0;         // Pauses in the last 10 seconds
+	private static volatile long recentMaxPauseMicros = 0; // Longest of those
+	private static volatile long sampleCount = 0;
+	
+	/**
+	 * Starts sampling if it isn't running yet. Called when the memory element
+	 * is first drawn, so nothing runs for players who never enable it.
+	 */
+	public static synchronized void ensureStarted() {
+		if (executor != null) {
+			return;
+		}
+		ensureListening();
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "SimpleFPS Memory Sampler");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleAtFixedRate(MemorySampler::sample, 0, SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * Starts recording GC pauses without sampling the heap, for the graph's
+	 * GC markers.
+	 */
+	public static synchronized void ensureListening() {
+		if (listening) {
+			return;
+		}
+		listening = true;
+		NotificationListener listener = MemorySampler::handleNotification;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (bean instanceof NotificationEmitter emitter) {
+				emitter.addNotificationListener(listener, null, null);
+			} else {
+				LOGGER.warn("GC bean {} does not send notifications, its pauses will not be shown", bean.getName());
+			}
+		}
+	}
+	
+	private static void handleNotification(Notification notification, Object handback) {
+		if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+			return;
+		}
+		GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+		GcInfo gcInfo = info.getGcInfo();
+		
+		// Memory freed by this collection, summed over all heap pools
+		long reclaimed = 0;
+		Map<String, MemoryUsage> before = gcInfo.getMemoryUsageBeforeGc();
+		for (Map.Entry<String, MemoryUsage> after : gcInfo.getMemoryUsageAfterGc().entrySet()) {
+			MemoryUsage usageBefore = before.get(after.getKey());
+			if (usageBefore != null) {
+				reclaimed += Math.max(0, usageBefore.getUsed() - after.getValue().getUsed());
+			}
+		}
+		reclaimedBytes.addAndGet(reclaimed);
+		
+		if (isPause(info.getGcName())) {
+			synchronized (PAUSE_LOCK) {
+				int slot = (int) (pauseCount % PAUSE_CAPACITY);
+				pauseStarts[slot] = UPTIME_ORIGIN_NANOS + gcInfo.getStartTime() * 1_000_000L;
+				pauseEnds[slot] = UPTIME_ORIGIN_NANOS + gcInfo.getEndTime() * 1_000_000L;
+				pauseMajor[slot] = info.getGcAction().contains("major");
+				pauseCount++;
+			}
+		}
+	}
+	
+	/**
+	 * Whether a collector's events stop the game. ZGC and Shenandoah report
+	 * their concurrent cycles and G1 its concurrent marking on separate
+	 * beans; their durations are mostly spent alongside the game, not
+	 * blocking it.
+	 */
+	static boolean isPause(String gcName) {
+		return !gcName.contains("Cycles") && !gcName.contains("Concurrent");
+	}
+	
+	private static void sample() {
+		try {
+			long now = System.nanoTime();
+			MemoryUsage heap = MEMORY_BEAN.getHeapMemoryUsage();
+			long used = heap.getUsed();
+			long reclaimed = reclaimedBytes.getAndSet(0);
+			
+			// Whatever was freed since the last sample had been allocated before it was freed
+			if (lastUsedBytes >= 0 && now > lastSampleNanos) {
+				long allocated = Math.max(0, used - lastUsedBytes + reclaimed);
+				allocationRate = allocated * 1_000_000_000L / (now - lastSampleNanos);
+			}
+			lastUsedBytes = used;
+			lastSampleNanos = now;
+			
+			int pauses = 0;
+			long maxPause = 0;
+			synchronized (PAUSE_LOCK) {
+				long retained = Math.min(pauseCount, PAUSE_CAPACITY);
+				for (long i = pauseCount - 1; i >= pauseCount - retained; i--) {
+					int slot = (int) (i % PAUSE_CAPACITY);
+					if (now - pauseEnds[slot] > PAUSE_WINDOW_NANOS) {
+						break;
+					}
+					pauses++;
+					maxPause = Math.max(maxPause, (pauseEnds[slot] - pauseStarts[slot]) / 1000);
+				}
+			}
+			
+			heapUsed = used;
+			heapCommitted = heap.getCommitted();
+			heapMax = heap.getMax();
+			recentPauses = pauses;
+			recentMaxPauseMicros = maxPause;
+			sampleCount++;
+		} catch (RuntimeException e) {
+			// An exception would cancel the schedule - log and keep sampling
+			LOGGER.warn("Failed to sample memory usage", e);
+		}
+	}
+	
+	/**
+	 * Bumped after every sample; compare to know when the values changed.
+	 */
+	public static long getSampleCount() {
+		return sampleCount;
+	}
+	
+	public static long getHeapUsed() {
+		return heapUsed;
+	}
+	
+	public static long getHeapCommitted() {
+		return heapCommitted;
+	}
+	
+	/**
+	 * Maximum heap size, or -1 if the JVM has no limit.
+	 */
+	public static long getHeapMax() {
+		return heapMax;
+	}
+	
+	/**
+	 * Bytes allocated per second over the last sample interval.
+	 */
+	public static long getAllocationRate() {
+		return allocationRate;
+	}
+	
+	/**
+	 * Number of GC pauses in the last 10 seconds.
+	 */
+	public static int getRecentPauses() {
+		return recentPauses;
+	}
+	
+	/**
+	 * Longest GC pause in the last 10 seconds in microseconds, 0 if there was none.
+	 */
+	public static long getRecentMaxPauseMicros() {
+		return recentMaxPauseMicros;
+	}
+	
+	// GC pauses by absolute index (0 = first pause recorded). Only the last
+	// PAUSE_CAPACITY are retained; read getPauseCount() first, then the slots.
+	
+	/**
+	 * Number of GC pauses recorded since listening started.
+	 */
+	public static long getPauseCount() {
+		return pauseCount;
+	}
+	
+	public static int getPauseCapacity() {
+		return PAUSE_CAPACITY;
+	}
+	
+	/**
+	 * When the pause started ({@link System#nanoTime()}).
+	 */
+	public static long getPauseStartNanos(long index) {
+		return pauseStarts[(int) (index % PAUSE_CAPACITY)];
+	}
+	
+	/**
+	 * When the pause ended ({@link System#nanoTime()}).
+	 */
+	public static long getPauseEndNanos(long index) {
+		return pauseEnds[(int) (index % PAUSE_CAPACITY)];
+	}
+	
+	/**
+	 * Whether the pause was a major (old generation / full) collection.
+	 */
+	public static boolean isMajorPause(long index) {
+		return pauseMajor[(int) (index % PAUSE_CAPACITY)];
+	}
+}
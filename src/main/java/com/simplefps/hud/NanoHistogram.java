@@ -0,0 +1,154 @@
+package com.simplefps.hud;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-bucket histogram of nanosecond durations.
+ *
+ * Buckets are log-linear: 32 sub-buckets per power of two above ~1µs, which
+ * keeps every bucket within ~3% of its value while covering up to ~17 seconds
+ * in under 700 ints. Recording is O(1) and allocation-free; percentile
+ * queries scan the bucket array once, independent of how many samples were
+ * recorded.
+ */
+public class NanoHistogram {
+	private static final int UNIT_SHIFT = 10; // Values are bucketed in ~1µs units
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 24; // 2^24 µs ~= 16.7 seconds
+	public static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+	
+	private final int[] counts = new int[BUCKET_COUNT];
+	private long totalCount = 0;
+	private long totalNanos = 0;
+	
+	/**
+	 * Maps a duration to its bucket index.
+	 */
+	public static int bucketIndex(long nanos) {
+		long units = Math.max(0, nanos) >>> UNIT_SHIFT;
+		if (units < SUB_BUCKETS) {
+			return (int) units;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(units);
+		if (exponent > MAX_EXPONENT) {
+			return BUCKET_COUNT - 1;
+		}
+		int subBucket = (int) (units >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+	}
+	
+	/**
+	 * Smallest duration that falls into the given bucket.
+	 */
+	public static long bucketLowerBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return (long) index << UNIT_SHIFT;
+		}
+		int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long units = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+		return units << UNIT_SHIFT;
+	}
+	
+	/**
+	 * Representative (midpoint) duration of the given bucket.
+	 */
+	public static long bucketMidpoint(int index) {
+		long lower = bucketLowerBound(index);
+		long upper = index + 1 < BUCKET_COUNT ? bucketLowerBound(index + 1) : lower * 2;
+		return (lower + upper) >>> 1;
+	}
+	
+	public void record(long nanos) {
+		counts[bucketIndex(nanos)]++;
+		totalCount++;
+		totalNanos += nanos;
+	}
+	
+	/**
+	 * Removes a previously recorded duration (for sliding windows).
+	 */
+	public void remove(long nanos) {
+		int index = bucketIndex(nanos);
+		if (counts[index] > 0) {
+			counts[index]--;
+			totalCount--;
+			totalNanos -= nanos;
+		}
+	}
+	
+	public void add(NanoHistogram other) {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] += other.counts[i];
+		}
+		totalCount += other.totalCount;
+		totalNanos += other.totalNanos;
+	}
+	
+	public void subtract(NanoHistogram other) {
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] -= other.counts[i];
+		}
+		totalCount -= other.totalCount;
+		totalNanos -= other.totalNanos;
+	}
+	
+	public void clear() {
+		Arrays.fill(counts, 0);
+		totalCount = 0;
+		totalNanos = 0;
+	}
+	
+	public long getCount() {
+		return totalCount;
+	}
+	
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	public long getMeanNanos() {
+		return totalCount == 0 ? 0 : totalNanos / totalCount;
+	}
+	
+	public int getBucketCount(int index) {
+		return counts[index];
+	}
+	
+	/**
+	 * Duration at the given percentile (0-100), e.g. 99 for p99.
+	 * Returns 0 if the histogram is empty.
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (totalCount == 0) return 0;
+		long rank = (long) Math.ceil(percentile / 100.0 * totalCount);
+		rank = Math.max(1, Math.min(totalCount, rank));
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return bucketMidpoint(i);
+			}
+		}
+		return bucketMidpoint(BUCKET_COUNT - 1);
+	}
+	
+	/**
+	 * Mean duration of the slowest fraction of samples, e.g. 0.01 for the
+	 * slowest 1% (the basis of "1% low" FPS). Returns 0 if empty.
+	 */
+	public long getMeanOfSlowest(double fraction) {
+		if (totalCount == 0) return 0;
+		long wanted = Math.max(1, (long) Math.ceil(fraction * totalCount));
+		long taken = 0;
+		double sum = 0;
+		for (int i = BUCKET_COUNT - 1; i >= 0 && taken < wanted; i--) {
+			int count = counts[i];
+			if (count == 0) continue;
+			long take = Math.min(count, wanted - taken);
+			sum += (double) take * bucketMidpoint(i);
+			taken += take;
+		}
+		return (long) (sum / taken);
+	}
+}
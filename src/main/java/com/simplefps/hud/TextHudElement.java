@@ -0,0 +1,163 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.HudSnapshot;
+import com.simplefps.config.SimpleFPSConfig;
+import net.minecraft.client.font.TextRenderer;
+
+/**
+ * Base for the single-line text elements (FPS counter, coordinates, biome,
+ * time clock, memory): position scaling and clamping, background fill and scaled
+ * text drawing live here, subclasses only provide the text.
+ *
+ * The text is only refreshed as often as the element's refresh interval
+ * asks for (every frame, every client tick or every N ms); in between, the
+ * text and color from the last refresh are drawn as they are.
+ */
+public abstract class TextHudElement implements HudElement {
+	private static final int BACKGROUND_PADDING = 2;
+	
+	// Display string is rebuilt only when the subclass's cache key changes
+	protected final HudTextCache textCache = new HudTextCache();
+	
+	protected HudSnapshot.TextElement config;
+	
+	// Result of the last updateText and when it ran
+	private HudSnapshot.TextElement refreshedConfig = null;
+	private boolean hasText = false;
+	private long lastRefreshNanos = 0;
+	private boolean tickPending = true;
+	
+	// Bumped when a refresh changes the drawn text or color
+	private long contentVersion = 0;
+	private String drawnText = null;
+	private int drawnColor = 0;
+	
+	private int x;
+	private int y;
+	private int width;
+	private int height;
+	
+	/**
+	 * Gets this element's settings from a snapshot.
+	 */
+	protected abstract HudSnapshot.TextElement getConfig(HudSnapshot snapshot);
+	
+	/**
+	 * Refreshes {@link #textCache} for this frame.
+	 * @return false if there is nothing to show
+	 */
+	protected abstract boolean updateText(HudFrame frame);
+	
+	/**
+	 * Text color (ARGB) for this frame.
+	 */
+	protected int getTextColor() {
+		return config.textColor();
+	}
+	
+	@Override
+	public boolean isEnabled(HudSnapshot snapshot) {
+		return getConfig(snapshot).enabled();
+	}
+	
+	@Override
+	public boolean update(HudFrame frame) {
+		config = getConfig(frame.getSnapshot());
+		if (needsRefresh(frame)) {
+			hasText = updateText(frame);
+			refreshedConfig = config;
+			lastRefreshNanos = frame.getNanoTime();
+			tickPending = false;
+			
+			// The cache hands back the same String while the text is unchanged
+			if (hasText && (textCache.getText() != drawnText || getTextColor() != drawnColor)) {
+				drawnText = textCache.getText();
+				drawnColor = getTextColor();
+				contentVersion++;
+			}
+		}
+		return hasText;
+	}
+	
+	private boolean needsRefresh(HudFrame frame) {
+		// Previews and changed settings always show current values
+		if (frame.isPreview() || config != refreshedConfig) {
+			return true;
+		}
+		int interval = config.refreshInterval();
+		if (interval == SimpleFPSConfig.REFRESH_EVERY_FRAME) {
+			return true;
+		}
+		if (interval == SimpleFPSConfig.REFRESH_EVERY_TICK) {
+			return tickPending;
+		}
+		return frame.getNanoTime() - lastRefreshNanos >= interval * 1_000_000L;
+	}
+	
+	@Override
+	public void tick() {
+		tickPending = true;
+	}
+	
+	/**
+	 * Makes the next {@link #update} refresh the text regardless of the interval.
+	 */
+	public void requestRefresh() {
+		refreshedConfig = null;
+	}
+	
+	@Override
+	public void measure(HudFrame frame) {
+		// Calculate text dimensions with scaling
+		float scale = config.textSize();
+		TextRenderer textRenderer = frame.getTextRenderer();
+		width = (int) (textCache.getWidth() * scale);
+		height = (int) (textRenderer.fontHeight * scale);
+		
+		// Get position (scaled and clamped to screen bounds)
+		int screenWidth = frame.getScreenWidth();
+		int screenHeight = frame.getScreenHeight();
+		HudSnapshot.Layout layout = frame.getSnapshot().layout();
+		x = Math.max(0, Math.min(layout.scaleX(config.x(), screenWidth), screenWidth - width - 4));
+		y = Math.max(0, Math.min(layout.scaleY(config.y(), screenHeight), screenHeight - height - 4));
+	}
+	
+	@Override
+	public void render(HudCanvas canvas, HudFrame frame) {
+		if (config.showBackground()) {
+			canvas.fill(
+				x - BACKGROUND_PADDING,
+				y - BACKGROUND_PADDING,
+				x + width + BACKGROUND_PADDING,
+				y + height + BACKGROUND_PADDING,
+				config.backgroundColor()
+			);
+		}
+	}
+	
+	@Override
+	public void renderText(HudCanvas canvas, HudFrame frame, int originX, int originY) {
+		// Shadowed text for better visibility
+		canvas.drawText(frame.getTextRenderer(), textCache.getText(), originX, originY, getTextColor());
+	}
+	
+	@Override
+	public long getContentVersion() {
+		return contentVersion;
+	}
+	
+	@Override
+	public float getScale() {
+		return config.textSize();
+	}
+	
+	@Override
+	public int getX() {
+		return x;
+	}
+	
+	@Override
+	public int getY() {
+		return y;
+	}
+}
@@ -1,8 +1,8 @@
 package com.simplefps.hud;
 
+import com.simplefps.config.HudSnapshot;
 import com.simplefps.config.SimpleFPSConfig;
 import net.minecraft.client.MinecraftClient;
-import net.minecraft.client.font.TextRenderer;
 import net.minecraft.client.gui.DrawContext;
 
 /**
@@ -15,105 +15,83 @@ import net.minecraft.client.gui.DrawContext;
  * - 18000 ticks = 12:00 AM (midnight)
  * - Full day = 24000 ticks
  */
-public class TimeClockRenderer {
+public class TimeClockRenderer extends TextHudElement {
+	public static final TimeClockRenderer INSTANCE = new TimeClockRenderer();
+	// Screen previews get their own text cache and refresh state
+	private static final TimeClockRenderer PREVIEW = new TimeClockRenderer();
+	
+	// Time strings per in-game minute (index = minutes since 6AM), built on first use
+	private static final int MINUTES_PER_DAY = 24 * 60;
+	private static String[] timeStrings24h = null;
+	private static String[] timeStrings12h = null;
 	
 	/**
 	 * Renders the time clock display.
 	 * @param context The draw context
-	 * @param isPreview If true, shows preview mode
+	 * @param isPreview If true, renders even when disabled (drag screen)
 	 */
 	public static void render(DrawContext context, boolean isPreview) {
-		SimpleFPSConfig config = SimpleFPSConfig.getInstance();
-		
-		if (!config.timeClockEnabled && !isPreview) {
-			return;
-		}
-		
-		MinecraftClient client = MinecraftClient.getInstance();
+		HudPipeline.renderSingle(context, isPreview ? PREVIEW : INSTANCE, isPreview);
+	}
+	
+	@Override
+	public String getName() {
+		return "Clock";
+	}
+	
+	@Override
+	protected HudSnapshot.TextElement getConfig(HudSnapshot snapshot) {
+		return snapshot.timeClock().text();
+	}
+	
+	@Override
+	protected boolean updateText(HudFrame frame) {
+		MinecraftClient client = frame.getClient();
 		if (client.player == null || client.world == null) {
-			return;
+			return false;
 		}
+		HudSnapshot.TimeClock timeClock = frame.getSnapshot().timeClock();
 		
-		TextRenderer textRenderer = client.textRenderer;
-		
-		// Get current time and day - pass world directly to ensure fresh reference
-		String timeText = formatTimeDisplay(client.world, config);
+		// Get current time and day - read world directly to ensure fresh reference
+		// getTimeOfDay() keeps counting past 24000 (it is not reset each day)
+		int totalMinutes = getMinuteOfDay(client.world.getTimeOfDay());
 		
-		// Calculate text dimensions with scaling
-		float scale = config.timeClockTextSize;
-		int textWidth = (int) (textRenderer.getWidth(timeText) * scale);
-		int textHeight = (int) (textRenderer.fontHeight * scale);
-		
-		// Get position (scaled and clamped to screen bounds)
-		int screenWidth = client.getWindow().getScaledWidth();
-		int screenHeight = client.getWindow().getScaledHeight();
-		
-		int x = Math.max(0, Math.min(config.getScaledTimeClockX(screenWidth), screenWidth - textWidth - 4));
-		int y = Math.max(0, Math.min(config.getScaledTimeClockY(screenHeight), screenHeight - textHeight - 4));
+		// Calculate day number (days start at 1)
+		long dayNumber = (client.world.getTime() / 24000L) + 1;
 		
-		// Draw background if enabled
-		if (config.timeClockShowBackground && config.timeClockBackgroundOpacity > 0) {
-			int bgColor = config.getTimeClockBackgroundColorWithAlpha();
-			int padding = 2;
-			context.fill(
-				x - padding,
-				y - padding,
-				x + textWidth + padding,
-				y + textHeight + padding,
-				bgColor
-			);
-		}
-		
-		// Get text color with alpha
-		int textColor = config.getTimeClockTextColorWithAlpha();
-		
-		// Draw text with scaling
-		if (scale != 1.0f) {
-			context.getMatrices().pushMatrix();
-			context.getMatrices().translate(x, y);
-			context.getMatrices().scale(scale, scale);
-			context.drawTextWithShadow(textRenderer, timeText, 0, 0, textColor);
-			context.getMatrices().popMatrix();
-		} else {
-			context.drawTextWithShadow(textRenderer, timeText, x, y, textColor);
+		// Text only changes once per in-game minute (~0.83 real seconds),
+		// so it is rebuilt only when the day, minute or format changes
+		long formatKey = getFormatKey(totalMinutes, timeClock.use24Hour(), timeClock.minimalist());
+		if (!textCache.isValid(frame.getTextRenderer(), dayNumber, formatKey, null)) {
+			textCache.update(frame.getTextRenderer(), dayNumber, formatKey, null, formatTimeDisplay(totalMinutes, dayNumber, timeClock));
 		}
+		return true;
+	}
+	
+	/**
+	 * Minutes elapsed since 6AM in the current day (0-1439).
+	 * @param timeOfDay World time of day in ticks, may span many days
+	 */
+	static int getMinuteOfDay(long timeOfDay) {
+		return (int) (Math.floorMod(timeOfDay, 24000L) * MINUTES_PER_DAY / 24000);
+	}
+	
+	/**
+	 * Text cache key for a minute of the day and the format flags.
+	 * @param totalMinutes Minutes elapsed since 6AM (0-1439, fits in 11 bits)
+	 */
+	static long getFormatKey(int totalMinutes, boolean use24Hour, boolean minimalist) {
+		return totalMinutes | (use24Hour ? 1 << 11 : 0) | (minimalist ? 1 << 12 : 0);
 	}
 	
 	/**
 	 * Formats the time display based on config settings.
 	 */
-	private static String formatTimeDisplay(net.minecraft.client.world.ClientWorld world, SimpleFPSConfig config) {
-		// Get the current time of day directly from the world
-		// getTimeOfDay() returns the time within the current day (0-23999)
-		long timeOfDay = world.getTimeOfDay();
-		
-		// Get total time for day calculation
-		long totalTime = world.getTime();
-		
-		// Calculate day number (days start at 1)
-		long dayNumber = (totalTime / 24000L) + 1;
-		
-		// Convert ticks to hours and minutes
-		// Minecraft day cycle: 0=6AM, 6000=12PM, 12000=6PM, 18000=12AM, 24000=6AM (next day)
-		// Formula: (ticks / 1000) gives hours since 6AM, (ticks % 1000) gives fraction of hour
-		int totalMinutes = (int) ((timeOfDay * 24 * 60) / 24000);
-		int hours24 = (totalMinutes / 60 + 6) % 24;
-		int minutes = totalMinutes % 60;
-		
-		String timeString;
-		if (config.timeClock24Hour) {
-			// 24-hour format: 07:30
-			timeString = String.format("%02d:%02d", hours24, minutes);
-		} else {
-			// 12-hour format: 7:30 AM
-			int hours12 = hours24 % 12;
-			if (hours12 == 0) hours12 = 12;
-			String ampm = hours24 < 12 ? "AM" : "PM";
-			timeString = String.format("%d:%02d %s", hours12, minutes, ampm);
-		}
+	static String formatTimeDisplay(int totalMinutes, long dayNumber, HudSnapshot.TimeClock timeClock) {
+		String timeString = getTimeString(totalMinutes, timeClock.use24Hour());
 		
 		// Format based on minimalist setting
-		if (config.timeClockMinimalist) {
+		if (timeClock.minimalist()) {
 			// Minimalist: "1342 7:30 AM"
 			return dayNumber + " " + timeString;
 		} else {
@@ -122,6 +100,42 @@ public class TimeClockRenderer {
 		}
 	}
 	
+	/**
+	 * Gets the time string for a minute of the day from the lookup table.
+	 * @param totalMinutes Minutes elapsed since 6AM (0-1439)
+	 * @param use24Hour "07:30" if true, "7:30 AM" otherwise
+	 */
+	public static String getTimeString(int totalMinutes, boolean use24Hour) {
+		if (use24Hour) {
+			if (timeStrings24h == null) timeStrings24h = buildTimeStrings(true);
+			return timeStrings24h[totalMinutes % MINUTES_PER_DAY];
+		} else {
+			if (timeStrings12h == null) timeStrings12h = buildTimeStrings(false);
+			return timeStrings12h[totalMinutes % MINUTES_PER_DAY];
+		}
+	}
+	
+	private static String[] buildTimeStrings(boolean use24Hour) {
+		String[] table = new String[MINUTES_PER_DAY];
+		for (int totalMinutes = 0; totalMinutes < MINUTES_PER_DAY; totalMinutes++) {
+			// Minecraft day cycle: 0=6AM, 6000=12PM, 12000=6PM, 18000=12AM, 24000=6AM (next day)
+			int hours24 = (totalMinutes / 60 + 6) % 24;
+			int minutes = totalMinutes % 60;
+			
+			if (use24Hour) {
+				// 24-hour format: 07:30
+				table[totalMinutes] = String.format("%02d:%02d", hours24, minutes);
+			} else {
+				// 12-hour format: 7:30 AM
+				int hours12 = hours24 % 12;
+				if (hours12 == 0) hours12 = 12;
+				String ampm = hours24 < 12 ? "AM" : "PM";
+				table[totalMinutes] = String.format("%d:%02d %s", hours12, minutes, ampm);
+			}
+		}
+		return table;
+	}
+	
 	/**
 	 * Gets sample text for width calculation in drag screen.
 	 */
@@ -0,0 +1,199 @@
+package com.simplefps.session;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.simplefps.config.SimpleFPSConfig;
+import net.fabricmc.loader.api.FabricLoader;
+import net.fabricmc.loader.api.ModContainer;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.text.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Fixed-length benchmark: records every frame time for the configured
+ * number of seconds, then writes a JSON report to
+ * {@code .minecraft/simplefps/benchmarks/}.
+ *
+ * Reports always have the same fields (see {@link BenchmarkStatistics}) plus
+ * the settings that affect performance the most and the loaded mods, so
+ * runs with different shaders, render distances or mod lists can be
+ * compared directly.
+ *
+ * Frames are recorded from the HUD callback, while the end of the run is
+ * checked every client tick, so it finishes on time even when no frame
+ * reaches the HUD. A run is cancelled when frames can't be seen (HUD hidden,
+ * loading overlay, world left) or when no frame arrived for over a second,
+ * rather than folding the pause into the results as one long frame.
+ *
+ * Runs on the client thread; the report is written on a short-lived thread
+ * of its own, so it doesn't depend on the session writer (which is shut
+ * down when the client stops) and a shutdown waits for the write.
+ */
+public class BenchmarkRunner {
+	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Benchmark");
+	private static final int REPORT_SCHEMA_VERSION = 1;
+	
+	// Longer gaps between frames cancel the run: frames were missed, so the results
+	// wouldn't be comparable (tighter than FrameTimeRecorder, which only skips them)
+	private static final long MAX_FRAME_GAP = 1_000_000_000L;
+	
+	private static boolean running = false;
+	private static long[] frameMicros = new long[8192];
+	private static int frameCount;
+	private static long startNanos;
+	private static long lastFrameNanos;
+	private static long durationNanos;
+	private static long stutterThresholdMicros;
+	private static long startEpochMillis;
+	
+	public static boolean isRunning() {
+		return running;
+	}
+	
+	/**
+	 * Starts a benchmark, or cancels the running one (keybinding).
+	 */
+	public static void toggle(MinecraftClient client) {
+		if (running) {
+			cancel(client, Text.translatable("simplefps.benchmark.cancelled"));
+			return;
+		}
+		
+		SimpleFPSConfig config = SimpleFPSConfig.getInstance();
+		durationNanos = config.benchmarkDuration * 1_000_000_000L;
+		stutterThresholdMicros = config.benchmarkStutterThreshold * 1000L;
+		frameCount = 0;
+		startNanos = System.nanoTime();
+		lastFrameNanos = startNanos;
+		startEpochMillis = System.currentTimeMillis();
+		running = true;
+		sendMessage(client, Text.translatable("simplefps.benchmark.started", config.benchmarkDuration));
+		LOGGER.info("Benchmark started ({} s, stutter threshold {} ms)", config.benchmarkDuration, config.benchmarkStutterThreshold);
+	}
+	
+	/**
+	 * Records the end of a frame. Does nothing unless a benchmark is running.
+	 * @param now The current {@link System#nanoTime()}
+	 */
+	public static void recordFrame(long now) {
+		if (!running || now - startNanos >= durationNanos) {
+			return; // Time is up, the next tick finishes the run
+		}
+		
+		long delta = now - lastFrameNanos;
+		lastFrameNanos = now;
+		if (delta > MAX_FRAME_GAP) {
+			cancel(MinecraftClient.getInstance(), Text.translatable("simplefps.benchmark.cancelledPause",
+				String.format("%.1f", delta / 1_000_000_000.0)));
+			return;
+		}
+		if (delta > 0) {
+			if (frameCount == frameMicros.length) {
+				frameMicros = Arrays.copyOf(frameMicros, frameCount * 2);
+			}
+			frameMicros[frameCount++] = delta / 1000;
+		}
+	}
+	
+	/**
+	 * Finishes the benchmark once its time is up, or cancels it when frames
+	 * can't reach the HUD. Called at the end of every client tick.
+	 */
+	public static void tick(MinecraftClient client) {
+		if (!running) {
+			return;
+		}
+		if (client.world == null || client.options.hudHidden || client.getOverlay() != null) {
+			cancel(client, Text.translatable("simplefps.benchmark.cancelledHidden"));
+		} else if (System.nanoTime() - startNanos >= durationNanos) {
+			finish(client);
+		}
+	}
+	
+	/**
+	 * Cancels a running benchmark without writing a report (leaving a world).
+	 */
+	public static void cancel(MinecraftClient client) {
+		if (running) {
+			cancel(client, Text.translatable("simplefps.benchmark.cancelledDisconnect"));
+		}
+	}
+	
+	private static void cancel(MinecraftClient client, Text reason) {
+		running = false;
+		sendMessage(client, reason);
+		LOGGER.info("Benchmark cancelled: {}", reason.getString());
+	}
+	
+	private static void finish(MinecraftClient client) {
+		running = false;
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(frameMicros, frameCount, stutterThresholdMicros);
+		JsonObject report = buildReport(client, result);
+		
+		sendMessage(client, Text.translatable("simplefps.benchmark.finished",
+			String.format("%.1f", result.averageFps()),
+			String.format("%.1f", result.onePercentLowFps()),
+			String.format("%.1f", result.pointOnePercentLowFps()),
+			result.stutters()));
+		
+		Path directory = FabricLoader.getInstance().getGameDir().resolve("simplefps").resolve("benchmarks");
+		Path file = directory.resolve("benchmark_" + LocalDateTime.now().format(SessionRecorder.FILE_NAME_FORMAT) + ".json");
+		String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+		new Thread(() -> writeReport(client, file, json), "SimpleFPS Benchmark Report").start();
+	}
+	
+	private static void writeReport(MinecraftClient client, Path file, String json) {
+		try {
+			Files.createDirectories(file.getParent());
+			Files.writeString(file, json, StandardCharsets.UTF_8);
+			LOGGER.info("Benchmark report written to {}", file);
+			client.execute(() -> sendMessage(client, Text.translatable("simplefps.benchmark.saved", file.getFileName().toString())));
+		} catch (IOException e) {
+			LOGGER.error("Failed to write benchmark report {}", file, e);
+			client.execute(() -> sendMessage(client, Text.translatable("simplefps.benchmark.saveFailed")));
+		}
+	}
+	
+	private static JsonObject buildReport(MinecraftClient client, BenchmarkStatistics.Result result) {
+		JsonObject report = new JsonObject();
+		report.addProperty("schemaVersion", REPORT_SCHEMA_VERSION);
+		report.addProperty("started", Instant.ofEpochMilli(startEpochMillis).toString());
+		report.addProperty("label", SessionRecorder.getLabel());
+		report.addProperty("requestedSeconds", durationNanos / 1_000_000_000L);
+		
+		JsonObject setup = new JsonObject();
+		setup.addProperty("renderDistance", client.options.getViewDistance().getValue());
+		setup.addProperty("simulationDistance", client.options.getSimulationDistance().getValue());
+		setup.addProperty("maxFps", client.options.getMaxFps().getValue());
+		setup.addProperty("vsync", client.options.getEnableVsync().getValue());
+		setup.addProperty("resolution", client.getWindow().getFramebufferWidth() + "x" + client.getWindow().getFramebufferHeight());
+		JsonArray mods = new JsonArray();
+		FabricLoader.getInstance().getAllMods().stream()
+			.map(BenchmarkRunner::describeMod)
+			.sorted()
+			.forEach(mods::add);
+		setup.add("mods", mods);
+		report.add("setup", setup);
+		
+		report.add("results", result.toJson());
+		return report;
+	}
+	
+	private static String describeMod(ModContainer mod) {
+		return mod.getMetadata().getId() + " " + mod.getMetadata().getVersion().getFriendlyString();
+	}
+	
+	private static void sendMessage(MinecraftClient client, Text message) {
+		client.inGameHud.getChatHud().addMessage(message);
+	}
+}
@@ -0,0 +1,159 @@
+package com.simplefps.session;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.util.Arrays;
+
+/**
+ * Summary statistics for a list of frame times: average FPS, 1% / 0.1%
+ * lows, frame-time percentiles, stutter count and a histogram.
+ *
+ * Used for benchmark reports and session exports, so both produce the same
+ * JSON fields. Has no Minecraft dependencies; feed it any frame-time array.
+ */
+public final class BenchmarkStatistics {
+	/** Frames longer than this count as stutters unless a threshold is given. */
+	public static final long DEFAULT_STUTTER_THRESHOLD_MICROS = 50_000;
+	
+	/**
+	 * Upper bounds of the histogram buckets in microseconds (240, 144, 120,
+	 * 60, 50, 30, 20 and 10 FPS, then 250 ms). Fixed so that reports from
+	 * different runs can be compared bucket by bucket; the last bucket has
+	 * no upper bound.
+	 */
+	private static final long[] HISTOGRAM_BOUNDS_MICROS = {4_167, 6_944, 8_333, 16_667, 20_000, 33_333, 50_000, 100_000, 250_000};
+	
+	/**
+	 * @param frames Number of frames
+	 * @param durationSeconds Sum of all frame times
+	 * @param stutters Frames longer than the stutter threshold
+	 * @param histogram Frame counts per bucket, see {@link #getHistogramBounds()}
+	 */
+	public record Result(
+		int frames,
+		double durationSeconds,
+		double averageFps,
+		double onePercentLowFps,
+		double pointOnePercentLowFps,
+		double p50Ms,
+		double p95Ms,
+		double p99Ms,
+		double maxMs,
+		double stutterThresholdMs,
+		int stutters,
+		int[] histogram
+	) {
+		public JsonObject toJson() {
+			JsonObject json = new JsonObject();
+			json.addProperty("frames", frames);
+			json.addProperty("durationSeconds", round(durationSeconds, 1000));
+			json.addProperty("averageFps", round(averageFps, 10));
+			json.addProperty("onePercentLowFps", round(onePercentLowFps, 10));
+			json.addProperty("pointOnePercentLowFps", round(pointOnePercentLowFps, 10));
+			json.addProperty("p50Ms", p50Ms);
+			json.addProperty("p95Ms", p95Ms);
+			json.addProperty("p99Ms", p99Ms);
+			json.addProperty("maxMs", maxMs);
+			json.addProperty("stutterThresholdMs", stutterThresholdMs);
+			json.addProperty("stutters", stutters);
+			
+			JsonArray buckets = new JsonArray();
+			for (int i = 0; i < histogram.length; i++) {
+				JsonObject bucket = new JsonObject();
+				bucket.addProperty("fromMs", i == 0 ? 0 : HISTOGRAM_BOUNDS_MICROS[i - 1] / 1000.0);
+				if (i < HISTOGRAM_BOUNDS_MICROS.length) {
+					bucket.addProperty("toMs", HISTOGRAM_BOUNDS_MICROS[i] / 1000.0);
+				}
+				bucket.addProperty("frames", histogram[i]);
+				buckets.add(bucket);
+			}
+			json.add("histogram", buckets);
+			return json;
+		}
+	}
+	
+	private BenchmarkStatistics() {
+	}
+	
+	/**
+	 * Computes the statistics of the first {@code count} entries. The array
+	 * is not modified.
+	 * @param frameMicros Frame times in microseconds
+	 * @param stutterThresholdMicros Frames longer than this are counted as stutters
+	 */
+	public static Result compute(long[] frameMicros, int count, long stutterThresholdMicros) {
+		int[] histogram = new int[HISTOGRAM_BOUNDS_MICROS.length + 1];
+		if (count == 0) {
+			return new Result(0, 0, 0, 0, 0, 0, 0, 0, 0, stutterThresholdMicros / 1000.0, 0, histogram);
+		}
+		
+		long[] sorted = Arrays.copyOf(frameMicros, count);
+		Arrays.sort(sorted);
+		
+		long totalMicros = 0;
+		int stutters = 0;
+		int bucket = 0;
+		for (long micros : sorted) {
+			totalMicros += micros;
+			if (micros > stutterThresholdMicros) {
+				stutters++;
+			}
+			// Sorted, so the bucket index only moves forward
+			while (bucket < HISTOGRAM_BOUNDS_MICROS.length && micros >= HISTOGRAM_BOUNDS_MICROS[bucket]) {
+				bucket++;
+			}
+			histogram[bucket]++;
+		}
+		
+		return new Result(
+			count,
+			totalMicros / 1_000_000.0,
+			totalMicros > 0 ? count * 1_000_000.0 / totalMicros : 0,
+			toFps(meanOfSlowest(sorted, 0.01)),
+			toFps(meanOfSlowest(sorted, 0.001)),
+			percentile(sorted, 0.50) / 1000.0,
+			percentile(sorted, 0.95) / 1000.0,
+			percentile(sorted, 0.99) / 1000.0,
+			sorted[count - 1] / 1000.0,
+			stutterThresholdMicros / 1000.0,
+			stutters,
+			histogram
+		);
+	}
+	
+	/**
+	 * Upper bounds of the histogram buckets in microseconds. There is one
+	 * more bucket than bounds.
+	 */
+	public static long[] getHistogramBounds() {
+		return HISTOGRAM_BOUNDS_MICROS.clone();
+	}
+	
+	private static long percentile(long[] sorted, double percentile) {
+		return sorted[Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1))];
+	}
+	
+	/**
+	 * Mean of the slowest fraction of frames, rounded up to whole frames and
+	 * at least one. Same definition of "lows" the in-game graph uses
+	 * ({@code NanoHistogram.getMeanOfSlowest}), on exact frame times instead
+	 * of histogram buckets.
+	 */
+	private static double meanOfSlowest(long[] sorted, double fraction) {
+		int slowest = Math.max(1, (int) Math.ceil(sorted.length * fraction));
+		long sum = 0;
+		for (int i = sorted.length - slowest; i < sorted.length; i++) {
+			sum += sorted[i];
+		}
+		return (double) sum / slowest;
+	}
+	
+	private static double toFps(double frameMicros) {
+		return frameMicros > 0 ? 1_000_000.0 / frameMicros : 0;
+	}
+	
+	private static double round(double value, int scale) {
+		return (double) Math.round(value * scale) / scale;
+	}
+}
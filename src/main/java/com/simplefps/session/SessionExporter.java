@@ -0,0 +1,184 @@
+package com.simplefps.session;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Converts session logs to CSV (every frame) or a JSON summary (the
+ * {@link BenchmarkStatistics} fields for the whole session and for each
+ * stretch between markers). Gaps are listed in the CSV but left out of all
+ * frame time statistics.
+ *
+ * Works in game through {@code /simplefps session export} and offline:
+ * {@code java -cp simplefps.jar:gson.jar com.simplefps.session.SessionExporter <log.sfr> [csv|json] [output]}
+ */
+public final class SessionExporter {
+	
+	private SessionExporter() {
+	}
+	
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 3) {
+			System.err.println("Usage: SessionExporter <session.sfr> [csv|json] [output file]");
+			System.exit(1);
+		}
+		Path log = Path.of(args[0]);
+		String format = args.length > 1 ? args[1] : "csv";
+		Path output = args.length > 2 ? Path.of(args[2]) : getDefaultOutput(log, format);
+		export(log, format, output);
+		System.out.println("Wrote " + output);
+	}
+	
+	/**
+	 * Exports a log next to itself, e.g. session.sfr to session.csv.
+	 * @param format "csv" or "json"
+	 * @return The written file
+	 */
+	public static Path export(Path log, String format) throws IOException {
+		Path output = getDefaultOutput(log, format);
+		export(log, format, output);
+		return output;
+	}
+	
+	public static void export(Path log, String format, Path output) throws IOException {
+		switch (format) {
+			case "csv" -> exportCsv(log, output);
+			case "json" -> exportJson(log, output);
+			default -> throw new IllegalArgumentException("Unknown export format: " + format);
+		}
+	}
+	
+	/**
+	 * Writes one row per frame (timestamp and frame time in microseconds)
+	 * plus one row per marker and per gap.
+	 */
+	public static void exportCsv(Path log, Path output) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+			writer.write("timestamp_us,frame_time_us,marker,gap_us\n");
+			IOException[] failure = new IOException[1];
+			SessionLogReader.read(log, new SessionLogReader.Visitor() {
+				@Override
+				public void frame(long timestampMicros, long frameMicros) {
+					writeRow(timestampMicros + "," + (frameMicros >= 0 ? frameMicros : "") + ",,\n");
+				}
+				
+				@Override
+				public void marker(long timestampMicros, int number) {
+					writeRow(timestampMicros + ",," + number + ",\n");
+				}
+				
+				@Override
+				public void gap(long timestampMicros, long gapMicros) {
+					writeRow(timestampMicros + ",,," + (gapMicros >= 0 ? gapMicros : "") + "\n");
+				}
+				
+				private void writeRow(String row) {
+					if (failure[0] != null) {
+						return;
+					}
+					try {
+						writer.write(row);
+					} catch (IOException e) {
+						failure[0] = e;
+					}
+				}
+			});
+			if (failure[0] != null) {
+				throw failure[0];
+			}
+		}
+	}
+	
+	/**
+	 * Writes a summary for the whole session and for every segment between markers.
+	 */
+	public static void exportJson(Path log, Path output) throws IOException {
+		FrameTimes total = new FrameTimes(0);
+		List<FrameTimes> segments = new ArrayList<>();
+		segments.add(new FrameTimes(0));
+		SessionLogReader.Header header = SessionLogReader.read(log, new SessionLogReader.Visitor() {
+			@Override
+			public void frame(long timestampMicros, long frameMicros) {
+				if (frameMicros >= 0) {
+					total.add(frameMicros);
+					segments.get(segments.size() - 1).add(frameMicros);
+				}
+			}
+			
+			@Override
+			public void marker(long timestampMicros, int number) {
+				segments.add(new FrameTimes(timestampMicros));
+			}
+			
+			@Override
+			public void gap(long timestampMicros, long gapMicros) {
+				total.gaps++;
+				segments.get(segments.size() - 1).gaps++;
+			}
+		});
+		
+		JsonObject root = new JsonObject();
+		root.addProperty("file", log.getFileName().toString());
+		root.addProperty("started", Instant.ofEpochMilli(header.startEpochMillis()).toString());
+		root.addProperty("label", header.label());
+		root.add("session", total.toJson());
+		if (segments.size() > 1) {
+			JsonArray segmentArray = new JsonArray();
+			for (int i = 0; i < segments.size(); i++) {
+				JsonObject segment = segments.get(i).toJson();
+				segment.addProperty("fromMarker", i);
+				segmentArray.add(segment);
+			}
+			root.add("segments", segmentArray);
+		}
+		Files.writeString(output, new GsonBuilder().setPrettyPrinting().create().toJson(root), StandardCharsets.UTF_8);
+	}
+	
+	private static Path getDefaultOutput(Path log, String format) {
+		String name = log.getFileName().toString();
+		if (name.endsWith(SessionLog.FILE_EXTENSION)) {
+			name = name.substring(0, name.length() - SessionLog.FILE_EXTENSION.length());
+		}
+		return log.resolveSibling(name + "." + format);
+	}
+	
+	/**
+	 * Frame times of a session or segment, summarized by {@link BenchmarkStatistics}.
+	 */
+	private static final class FrameTimes {
+		private final long startMicros;
+		private long[] micros = new long[1024];
+		private int count = 0;
+		private int gaps = 0;
+		
+		FrameTimes(long startMicros) {
+			this.startMicros = startMicros;
+		}
+		
+		void add(long frameMicros) {
+			if (count == micros.length) {
+				micros = Arrays.copyOf(micros, count * 2);
+			}
+			micros[count++] = frameMicros;
+		}
+		
+		JsonObject toJson() {
+			JsonObject json = new JsonObject();
+			json.addProperty("startMs", startMicros / 1000.0);
+			json.asMap().putAll(BenchmarkStatistics.compute(micros, count, BenchmarkStatistics.DEFAULT_STUTTER_THRESHOLD_MICROS).toJson().asMap());
+			json.addProperty("gaps", gaps);
+			return json;
+		}
+	}
+}
@@ -0,0 +1,86 @@
+package com.simplefps.session;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Layout of a session log (.sfr) file, shared by the recorder and the reader.
+ *
+ * Header: magic "SFSR", format version (short), start time in epoch millis
+ * (long), a UTF-8 label (short length + bytes) naming the game and mod
+ * versions. Then one record per frame, marker or gap until end of file, each
+ * an unsigned LEB128 varint of {@code (deltaMicros << 2) | kind}, where
+ * deltaMicros is the time since the previous record. At 60 FPS a frame takes
+ * three bytes.
+ *
+ * A gap record stands in for a frame that took implausibly long (the HUD was
+ * hidden, a loading screen was up): it moves the clock forward without
+ * counting as a frame, and the next frame's time is measured from it.
+ * Version 1 logs have no gaps and a single marker bit instead of the kind.
+ *
+ * Records are appended as the session runs and never rewritten, so a log cut
+ * short by a crash is still readable up to its last complete record.
+ */
+public final class SessionLog {
+	public static final int MAGIC = 0x53465352; // "SFSR"
+	public static final short VERSION = 2;
+	public static final String FILE_EXTENSION = ".sfr";
+	
+	// Record kinds, stored in the low bits of each record
+	static final int FRAME = 0;
+	static final int MARKER = 1;
+	static final int GAP = 2;
+	static final int KIND_BITS = 2;
+	
+	// A varint of a 64-bit value never needs more than this
+	static final int MAX_VARINT_BYTES = 10;
+	
+	private SessionLog() {
+	}
+	
+	/**
+	 * Writes the file header.
+	 */
+	static void writeHeader(ByteBuffer buffer, long startEpochMillis, String label) {
+		byte[] labelBytes = label.getBytes(StandardCharsets.UTF_8);
+		buffer.putInt(MAGIC);
+		buffer.putShort(VERSION);
+		buffer.putLong(startEpochMillis);
+		buffer.putShort((short) labelBytes.length);
+		buffer.put(labelBytes);
+	}
+	
+	/**
+	 * Appends one record.
+	 * @param kind {@link #FRAME}, {@link #MARKER} or {@link #GAP}
+	 */
+	static void writeRecord(ByteBuffer buffer, long deltaMicros, int kind) {
+		writeVarLong(buffer, (deltaMicros << KIND_BITS) | kind);
+	}
+	
+	static void writeVarLong(ByteBuffer buffer, long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+	
+	/**
+	 * Reads a varint.
+	 * @throws BufferUnderflowException if the buffer ends mid-value (truncated file)
+	 * @throws IllegalArgumentException if the value is longer than 64 bits
+	 */
+	static long readVarLong(ByteBuffer buffer) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Varint too long");
+	}
+}
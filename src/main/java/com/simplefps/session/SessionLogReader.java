@@ -0,0 +1,103 @@
+package com.simplefps.session;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads a session log written by {@link SessionRecorder}. Has no Minecraft
+ * dependencies, so logs can be processed outside the game.
+ */
+public final class SessionLogReader {
+	
+	/**
+	 * Receives the records of a log in order. Times are microseconds since
+	 * the session started.
+	 */
+	public interface Visitor {
+		/**
+		 * @param frameMicros Time since the previous frame, or -1 for the first frame
+		 */
+		void frame(long timestampMicros, long frameMicros);
+		
+		/**
+		 * @param number Marker number, starting at 1
+		 */
+		void marker(long timestampMicros, int number);
+		
+		/**
+		 * A pause that is not a frame (HUD hidden, loading screen). The next
+		 * frame's time is measured from the end of the gap.
+		 * @param gapMicros Time since the previous frame, or -1 if there was none
+		 */
+		void gap(long timestampMicros, long gapMicros);
+	}
+	
+	/**
+	 * Header values of a log.
+	 */
+	public record Header(short version, long startEpochMillis, String label) {}
+	
+	private SessionLogReader() {
+	}
+	
+	/**
+	 * Reads a whole log file.
+	 * @return The header; records go to the visitor
+	 * @throws IOException if the file can't be read or isn't a session log
+	 */
+	public static Header read(Path file, Visitor visitor) throws IOException {
+		return read(ByteBuffer.wrap(Files.readAllBytes(file)), visitor);
+	}
+	
+	/**
+	 * Reads a log from a buffer. A record cut off at the end (the game
+	 * crashed mid-write) is ignored.
+	 */
+	public static Header read(ByteBuffer buffer, Visitor visitor) throws IOException {
+		Header header;
+		try {
+			if (buffer.getInt() != SessionLog.MAGIC) {
+				throw new IOException("Not a SimpleFPS session log");
+			}
+			short version = buffer.getShort();
+			if (version < 1 || version > SessionLog.VERSION) {
+				throw new IOException("Unsupported session log version " + version);
+			}
+			long startEpochMillis = buffer.getLong();
+			byte[] label = new byte[buffer.getShort() & 0xFFFF];
+			buffer.get(label);
+			header = new Header(version, startEpochMillis, new String(label, StandardCharsets.UTF_8));
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Session log header is incomplete", e);
+		}
+		
+		int kindBits = header.version() == 1 ? 1 : SessionLog.KIND_BITS;
+		long kindMask = (1L << kindBits) - 1;
+		long timestamp = 0;
+		long lastFrame = -1;
+		int markers = 0;
+		try {
+			while (buffer.hasRemaining()) {
+				long record = SessionLog.readVarLong(buffer);
+				timestamp += record >>> kindBits;
+				int kind = (int) (record & kindMask);
+				if (kind == SessionLog.MARKER) {
+					visitor.marker(timestamp, ++markers);
+				} else if (kind == SessionLog.GAP) {
+					visitor.gap(timestamp, lastFrame < 0 ? -1 : timestamp - lastFrame);
+					lastFrame = timestamp;
+				} else {
+					visitor.frame(timestamp, lastFrame < 0 ? -1 : timestamp - lastFrame);
+					lastFrame = timestamp;
+				}
+			}
+		} catch (BufferUnderflowException | IllegalArgumentException e) {
+			// Truncated or damaged tail - keep what was read
+		}
+		return header;
+	}
+}
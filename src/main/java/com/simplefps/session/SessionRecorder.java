@@ -0,0 +1,260 @@
+package com.simplefps.session;
+
+import com.simplefps.hud.FrameTimeRecorder;
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records every frame's timestamp to a session log under
+ * {@code .minecraft/simplefps/sessions/}, see {@link SessionLog} for the format.
+ *
+ * The render thread only encodes varints into a heap buffer; full buffers
+ * (and the current one, once a second) are handed to a writer thread that
+ * appends them through a {@link FileChannel}. Buffers come back to a small
+ * pool afterwards, so recording doesn't allocate per frame. If the disk
+ * falls behind, extra buffers are allocated rather than dropping frames.
+ *
+ * All methods except the writer's own tasks are called on the client thread.
+ */
+public class SessionRecorder {
+	private static final Logger LOGGER = LoggerFactory.getLogger("SimpleFPS-Session");
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int POOLED_BUFFERS = 4;
+	private static final long HANDOFF_INTERVAL_NANOS = 1_000_000_000L;
+	static final DateTimeFormatter FILE_NAME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+	
+	private static final ExecutorService WRITER = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "SimpleFPS Session Writer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private static final ArrayBlockingQueue<ByteBuffer> freeBuffers = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+	
+	// Current session (client thread)
+	private static boolean recording = false;
+	private static Path sessionFile = null;
+	private static Path lastSessionFile = null;
+	private static ByteBuffer buffer = null;
+	private static long startNanos;
+	private static long lastRecordMicros;
+	private static long lastFrameNanos;
+	private static long lastHandoffNanos;
+	private static long frameCount;
+	private static int markerCount;
+	
+	// Owned by the writer thread
+	private static FileChannel channel = null;
+	
+	public static boolean isRecording() {
+		return recording;
+	}
+	
+	/**
+	 * Starts a new session log.
+	 * @return The log file, or null if a session is already running
+	 */
+	public static Path start() {
+		if (recording) {
+			return null;
+		}
+		Path directory = getSessionDirectory();
+		Path file = directory.resolve("session_" + LocalDateTime.now().format(FILE_NAME_FORMAT) + SessionLog.FILE_EXTENSION);
+		
+		startNanos = System.nanoTime();
+		lastRecordMicros = 0;
+		lastFrameNanos = 0;
+		lastHandoffNanos = startNanos;
+		frameCount = 0;
+		markerCount = 0;
+		buffer = takeBuffer();
+		SessionLog.writeHeader(buffer, System.currentTimeMillis(), getLabel());
+		
+		WRITER.execute(() -> open(directory, file));
+		sessionFile = file;
+		recording = true;
+		LOGGER.info("Recording session to {}", file);
+		return file;
+	}
+	
+	/**
+	 * Records the end of a frame. Does nothing unless a session is running.
+	 * A frame that breaks {@link FrameTimeRecorder}'s discontinuity rule is
+	 * written as a gap, so a hidden HUD or a loading screen doesn't show up
+	 * as one multi-second frame.
+	 * @param now The current {@link System#nanoTime()}
+	 */
+	public static void recordFrame(long now) {
+		if (!recording) {
+			return;
+		}
+		long delta = now - lastFrameNanos;
+		if (lastFrameNanos != 0 && (delta <= 0 || delta > FrameTimeRecorder.MAX_FRAME_GAP)) {
+			append(now, SessionLog.GAP);
+		} else {
+			append(now, SessionLog.FRAME);
+			frameCount++;
+		}
+		lastFrameNanos = now;
+	}
+	
+	/**
+	 * Adds a marker at the current time, e.g. at a checkpoint along a route.
+	 * @return The marker's number (starting at 1), or 0 if not recording
+	 */
+	public static int mark() {
+		if (!recording) {
+			return 0;
+		}
+		append(System.nanoTime(), SessionLog.MARKER);
+		return ++markerCount;
+	}
+	
+	/**
+	 * Stops the session and closes the log once everything is written.
+	 * @return The number of frames recorded, or -1 if no session was running
+	 */
+	public static long stop() {
+		if (!recording) {
+			return -1;
+		}
+		recording = false;
+		handOff();
+		buffer = null;
+		WRITER.execute(SessionRecorder::close);
+		lastSessionFile = sessionFile;
+		sessionFile = null;
+		LOGGER.info("Stopped session recording after {} frames", frameCount);
+		return frameCount;
+	}
+	
+	/**
+	 * Stops any running session and waits briefly for the log to be written
+	 * (client shutdown).
+	 */
+	public static void shutdown() {
+		stop();
+		WRITER.shutdown();
+		try {
+			if (!WRITER.awaitTermination(2, TimeUnit.SECONDS)) {
+				LOGGER.warn("Session log was not fully written before shutdown");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * Runs a task on the writer thread, after everything queued so far has
+	 * been written (used by exports so they see the complete file).
+	 */
+	public static void runAfterWrites(Runnable task) {
+		WRITER.execute(task);
+	}
+	
+	/**
+	 * Gets the log file of the running session, or of the last one if none is running.
+	 */
+	public static Path getCurrentOrLastSessionFile() {
+		return sessionFile != null ? sessionFile : lastSessionFile;
+	}
+	
+	public static long getFrameCount() {
+		return frameCount;
+	}
+	
+	public static Path getSessionDirectory() {
+		return FabricLoader.getInstance().getGameDir().resolve("simplefps").resolve("sessions");
+	}
+	
+	private static void append(long now, int kind) {
+		long micros = (now - startNanos) / 1000;
+		SessionLog.writeRecord(buffer, Math.max(0, micros - lastRecordMicros), kind);
+		lastRecordMicros = Math.max(lastRecordMicros, micros);
+		
+		// Hand off when the buffer could not take another record, or once a
+		// second so a crash loses at most the last second
+		if (buffer.remaining() < SessionLog.MAX_VARINT_BYTES || now - lastHandoffNanos >= HANDOFF_INTERVAL_NANOS) {
+			handOff();
+			buffer = takeBuffer();
+			lastHandoffNanos = now;
+		}
+	}
+	
+	private static void handOff() {
+		ByteBuffer full = buffer;
+		full.flip();
+		WRITER.execute(() -> write(full));
+	}
+	
+	private static ByteBuffer takeBuffer() {
+		ByteBuffer next = freeBuffers.poll();
+		return next != null ? next : ByteBuffer.allocate(BUFFER_SIZE);
+	}
+	
+	/**
+	 * Game and mod version, written into logs and benchmark reports.
+	 */
+	static String getLabel() {
+		return "Minecraft " + getVersion("minecraft") + ", SimpleFPS " + getVersion("simplefps");
+	}
+	
+	private static String getVersion(String modId) {
+		return FabricLoader.getInstance().getModContainer(modId)
+			.map(container -> container.getMetadata().getVersion().getFriendlyString())
+			.orElse("unknown");
+	}
+	
+	// ==================== Writer thread ====================
+	
+	private static void open(Path directory, Path file) {
+		try {
+			Files.createDirectories(directory);
+			channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+		} catch (IOException e) {
+			LOGGER.error("Failed to create session log {}", file, e);
+			channel = null;
+		}
+	}
+	
+	private static void write(ByteBuffer data) {
+		try {
+			if (channel != null) {
+				while (data.hasRemaining()) {
+					channel.write(data);
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.error("Failed to write session log, recording to disk stopped", e);
+			close();
+		} finally {
+			data.clear();
+			freeBuffers.offer(data); // Dropped if the pool is already full
+		}
+	}
+	
+	private static void close() {
+		if (channel == null) {
+			return;
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			LOGGER.warn("Failed to close session log", e);
+		}
+		channel = null;
+	}
+}
@@ -0,0 +1,136 @@
+package com.simplefps.hud;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Quad counts for the FPS graph's bar layout. 146 is the bar area of the
+ * graph at 100% scale with background (150 wide, 2 px padding per side),
+ * 45 a graph narrower than its 60 samples.
+ */
+class GraphQuadBuilderTest {
+	private static final int SAMPLES = 60;
+	private static final int LEFT = 2;
+	private static final int RIGHT = LEFT + 146;
+	private static final int BOTTOM = 50;
+	private static final int GREEN = 0xFF55FF55;
+	private static final int RED = 0xFFFF5555;
+	
+	private GraphQuadBuilder quads;
+	
+	@BeforeEach
+	void setUp() {
+		quads = new GraphQuadBuilder();
+		quads.begin();
+	}
+	
+	@Test
+	void steadyHistoryMergesIntoOneQuad() {
+		for (int i = 0; i < SAMPLES; i++) {
+			quads.addBar(i, SAMPLES, LEFT, RIGHT, 20, BOTTOM, GREEN);
+		}
+		
+		assertEquals(1, quads.getQuadCount());
+		assertEquals(LEFT, quads.getX0(0));
+		assertEquals(RIGHT, quads.getX1(0));
+	}
+	
+	@Test
+	void runsMergePerHeightAndColor() {
+		// 20 bars at one height, 20 taller, 10 red and 10 back at the first height
+		for (int i = 0; i < SAMPLES; i++) {
+			int top = i < 20 ? 20 : i < 40 ? 10 : 20;
+			quads.addBar(i, SAMPLES, LEFT, RIGHT, top, BOTTOM, i >= 40 && i < 50 ? RED : GREEN);
+		}
+		
+		assertEquals(4, quads.getQuadCount());
+	}
+	
+	@Test
+	void alternatingHeightsDoNotMerge() {
+		for (int i = 0; i < SAMPLES; i++) {
+			quads.addBar(i, SAMPLES, LEFT, RIGHT, i % 2 == 0 ? 20 : 21, BOTTOM, GREEN);
+		}
+		
+		assertEquals(SAMPLES, quads.getQuadCount());
+	}
+	
+	@Test
+	void adjacentColumnsTouchAtRealisticWidth() {
+		// Column edges are uneven at this width (0, 2, 4, 7, ...) but must never leave a gap
+		for (int i = 0; i < SAMPLES; i++) {
+			quads.addBar(i, SAMPLES, LEFT, RIGHT, i % 2 == 0 ? 20 : 21, BOTTOM, GREEN);
+		}
+		
+		assertEquals(LEFT, quads.getX0(0));
+		for (int i = 1; i < SAMPLES; i++) {
+			assertEquals(quads.getX1(i - 1), quads.getX0(i), "gap before column " + i);
+		}
+		assertEquals(RIGHT, quads.getX1(SAMPLES - 1));
+	}
+	
+	@Test
+	void narrowGraphKeepsEveryBarVisible() {
+		int right = LEFT + 45;
+		for (int i = 0; i < SAMPLES; i++) {
+			quads.addBar(i, SAMPLES, LEFT, right, i % 2 == 0 ? 20 : 21, BOTTOM, GREEN);
+		}
+		
+		assertEquals(SAMPLES, quads.getQuadCount());
+		for (int i = 0; i < SAMPLES; i++) {
+			assertEquals(1, quads.getX1(i) - quads.getX0(i), "width of column " + i);
+			assertTrue(quads.getX1(i) <= right, "column " + i + " inside the graph");
+		}
+	}
+	
+	@Test
+	void markersMergeAcrossConsecutiveSamples() {
+		// Hitch markers on samples 10-14 and 30 along the top edge
+		for (int i = 0; i < SAMPLES; i++) {
+			if ((i >= 10 && i < 15) || i == 30) {
+				quads.addBar(i, SAMPLES, LEFT, RIGHT, 0, 2, RED);
+			}
+		}
+		
+		assertEquals(2, quads.getQuadCount());
+	}
+	
+	@Test
+	void separateRectanglesOnlyMergeWhenTouching() {
+		quads.addRect(0, 0, 10, 5, GREEN);
+		quads.addRect(11, 0, 20, 5, GREEN); // 1 px gap
+		quads.addRect(20, 0, 30, 5, GREEN); // Touches the previous one
+		quads.addRect(30, 0, 40, 5, RED);
+		quads.addRect(40, 0, 40, 5, RED); // Empty, ignored
+		
+		assertEquals(3, quads.getQuadCount());
+		assertEquals(30, quads.getX1(1));
+	}
+	
+	@Test
+	void flatLineCollapsesIntoOneQuad() {
+		for (int column = 0; column < 146; column++) {
+			quads.addLineColumn(LEFT + column, 30, 30, GREEN);
+		}
+		quads.addLineColumn(LEFT + 146, 30, 10, RED); // A spike
+		
+		assertEquals(2, quads.getQuadCount());
+		assertEquals(10, quads.getY0(1));
+		assertEquals(31, quads.getY1(1));
+	}
+	
+	@Test
+	void bufferGrowsAndBeginResets() {
+		for (int i = 0; i < 1000; i++) {
+			quads.addRect(i * 2, 0, i * 2 + 1, 5, GREEN);
+		}
+		assertEquals(1000, quads.getQuadCount());
+		assertEquals(1998, quads.getX0(999));
+		
+		quads.begin();
+		assertEquals(0, quads.getQuadCount());
+	}
+}
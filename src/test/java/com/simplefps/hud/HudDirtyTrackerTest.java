@@ -0,0 +1,143 @@
+package com.simplefps.hud;
+
+import com.simplefps.config.ConfigFields;
+import com.simplefps.config.HudSnapshot;
+import com.simplefps.config.SimpleFPSConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * When the HUD cache may replay its recorded frame. Frames are filled
+ * without a client, so no text renderer is involved.
+ */
+class HudDirtyTrackerTest {
+	private final HudDirtyTracker tracker = new HudDirtyTracker();
+	private final HudFrame frame = new HudFrame();
+	private final FakeElement fps = new FakeElement();
+	private final FakeElement graph = new FakeElement();
+	private final HudElement[] active = {fps, graph};
+	
+	private SimpleFPSConfig config;
+	private HudSnapshot snapshot;
+	
+	@BeforeEach
+	void setUp() {
+		config = new SimpleFPSConfig();
+		snapshot = HudSnapshot.of(config);
+		begin(snapshot, 960, 540);
+		tracker.record(frame, active, 2);
+	}
+	
+	@Test
+	void replaysWhenNothingChanged() {
+		begin(snapshot, 960, 540);
+		assertTrue(tracker.isClean(frame, active, 2));
+		
+		// A recording can be replayed any number of times
+		assertTrue(tracker.isClean(frame, active, 2));
+	}
+	
+	@Test
+	void contentVersionChangeForcesRedraw() {
+		graph.version++;
+		assertFalse(tracker.isClean(frame, active, 2));
+		
+		tracker.record(frame, active, 2);
+		assertTrue(tracker.isClean(frame, active, 2));
+	}
+	
+	@Test
+	void newSnapshotForcesRedraw() {
+		config.textColor = "#FF0000";
+		begin(HudSnapshot.update(snapshot, config, EnumSet.of(ConfigFields.Section.FPS)), 960, 540);
+		assertFalse(tracker.isClean(frame, active, 2));
+	}
+	
+	@Test
+	void elementScaleChangeForcesRedraw() {
+		config.textSize = 2.0f;
+		begin(HudSnapshot.update(snapshot, config, EnumSet.of(ConfigFields.Section.FPS)), 960, 540);
+		assertFalse(tracker.isClean(frame, active, 2));
+	}
+	
+	@Test
+	void resizeForcesRedraw() {
+		begin(snapshot, 961, 540);
+		assertFalse(tracker.isClean(frame, active, 2));
+		begin(snapshot, 960, 541);
+		assertFalse(tracker.isClean(frame, active, 2));
+	}
+	
+	@Test
+	void guiScaleChangeForcesRedraw() {
+		// 1920x1080 at GUI scale 3 instead of 2
+		begin(snapshot, 640, 360);
+		assertFalse(tracker.isClean(frame, active, 2));
+	}
+	
+	@Test
+	void changedElementSetForcesRedraw() {
+		// Graph no longer drawn (disabled or nothing to show)
+		assertFalse(tracker.isClean(frame, active, 1));
+		
+		HudElement[] reordered = {graph, fps};
+		assertFalse(tracker.isClean(frame, reordered, 2));
+	}
+	
+	@Test
+	void invalidateForcesRedraw() {
+		tracker.invalidate();
+		assertFalse(tracker.isClean(frame, active, 2));
+	}
+	
+	private void begin(HudSnapshot snapshot, int screenWidth, int screenHeight) {
+		frame.begin(null, null, snapshot, screenWidth, screenHeight, false);
+	}
+	
+	private static final class FakeElement implements HudElement {
+		private long version = 0;
+		
+		@Override
+		public String getName() {
+			return "Fake";
+		}
+		
+		@Override
+		public boolean isEnabled(HudSnapshot snapshot) {
+			return true;
+		}
+		
+		@Override
+		public boolean update(HudFrame frame) {
+			return true;
+		}
+		
+		@Override
+		public void measure(HudFrame frame) {
+		}
+		
+		@Override
+		public void render(HudCanvas canvas, HudFrame frame) {
+		}
+		
+		@Override
+		public long getContentVersion() {
+			return version;
+		}
+		
+		@Override
+		public int getX() {
+			return 0;
+		}
+		
+		@Override
+		public int getY() {
+			return 0;
+		}
+	}
+}
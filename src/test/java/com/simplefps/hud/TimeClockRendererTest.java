@@ -0,0 +1,75 @@
+package com.simplefps.hud;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks the per-minute time string table against the formula the clock
+ * used before the table existed, for every tick of the day.
+ */
+class TimeClockRendererTest {
+	private static final long DAY_TICKS = 24000;
+	
+	@Test
+	void tableMatchesFormulaForEveryTick() {
+		for (long tick = 0; tick < DAY_TICKS; tick++) {
+			int minute = TimeClockRenderer.getMinuteOfDay(tick);
+			assertEquals(formatTime(tick, true), TimeClockRenderer.getTimeString(minute, true), "24h at tick " + tick);
+			assertEquals(formatTime(tick, false), TimeClockRenderer.getTimeString(minute, false), "12h at tick " + tick);
+		}
+	}
+	
+	@Test
+	void laterDaysMatchTheFirstDay() {
+		// getTimeOfDay() is not reduced to one day; day 5000 is far past 2048 minutes
+		long offset = 5000 * DAY_TICKS;
+		for (long tick = 0; tick < DAY_TICKS; tick += 7) {
+			assertEquals(TimeClockRenderer.getMinuteOfDay(tick), TimeClockRenderer.getMinuteOfDay(offset + tick), "tick " + tick);
+			assertEquals(formatTime(offset + tick, false), TimeClockRenderer.getTimeString(TimeClockRenderer.getMinuteOfDay(offset + tick), false));
+		}
+	}
+	
+	@Test
+	void formatKeysAreDistinct() {
+		Set<Long> keys = new HashSet<>();
+		for (int minute = 0; minute < 24 * 60; minute++) {
+			keys.add(TimeClockRenderer.getFormatKey(minute, false, false));
+			keys.add(TimeClockRenderer.getFormatKey(minute, true, false));
+			keys.add(TimeClockRenderer.getFormatKey(minute, false, true));
+			keys.add(TimeClockRenderer.getFormatKey(minute, true, true));
+		}
+		assertEquals(4 * 24 * 60, keys.size());
+	}
+	
+	@Test
+	void knownTimesAndCachedStrings() {
+		assertEquals("06:00", TimeClockRenderer.getTimeString(TimeClockRenderer.getMinuteOfDay(0), true));
+		assertEquals("12:00 PM", TimeClockRenderer.getTimeString(TimeClockRenderer.getMinuteOfDay(6000), false));
+		assertEquals("12:00 AM", TimeClockRenderer.getTimeString(TimeClockRenderer.getMinuteOfDay(18000), false));
+		assertEquals("05:59", TimeClockRenderer.getTimeString(TimeClockRenderer.getMinuteOfDay(23999), true));
+		
+		// The same minute returns the same String instance, nothing is formatted per frame
+		assertSame(TimeClockRenderer.getTimeString(90, true), TimeClockRenderer.getTimeString(90, true));
+	}
+	
+	/**
+	 * The clock's original per-frame formatting.
+	 */
+	private static String formatTime(long timeOfDay, boolean use24Hour) {
+		int totalMinutes = (int) ((timeOfDay * 24 * 60) / 24000);
+		int hours24 = (totalMinutes / 60 + 6) % 24;
+		int minutes = totalMinutes % 60;
+		if (use24Hour) {
+			return String.format("%02d:%02d", hours24, minutes);
+		}
+		int hours12 = hours24 % 12;
+		if (hours12 == 0) hours12 = 12;
+		String ampm = hours24 < 12 ? "AM" : "PM";
+		return String.format("%d:%02d %s", hours12, minutes, ampm);
+	}
+}
@@ -0,0 +1,142 @@
+package com.simplefps.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark and export statistics on synthetic frame-time arrays.
+ */
+class BenchmarkStatisticsTest {
+	private static final double EPSILON = 1e-9;
+	private static final long THRESHOLD = BenchmarkStatistics.DEFAULT_STUTTER_THRESHOLD_MICROS;
+	
+	@Test
+	void emptyInput() {
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(new long[0], 0, THRESHOLD);
+		
+		assertEquals(0, result.frames());
+		assertEquals(0, result.averageFps(), EPSILON);
+		assertEquals(0, result.onePercentLowFps(), EPSILON);
+		assertEquals(0, result.pointOnePercentLowFps(), EPSILON);
+		assertEquals(0, result.p99Ms(), EPSILON);
+		assertEquals(0, result.stutters());
+		assertEquals(50, result.stutterThresholdMs(), EPSILON);
+		assertEquals(0, Arrays.stream(result.histogram()).sum());
+	}
+	
+	@Test
+	void singleFrame() {
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(new long[] {20_000}, 1, THRESHOLD);
+		
+		assertEquals(1, result.frames());
+		assertEquals(0.02, result.durationSeconds(), EPSILON);
+		assertEquals(50, result.averageFps(), EPSILON);
+		// The lows are at least one frame, so both are that frame
+		assertEquals(50, result.onePercentLowFps(), EPSILON);
+		assertEquals(50, result.pointOnePercentLowFps(), EPSILON);
+		assertEquals(20, result.p50Ms(), EPSILON);
+		assertEquals(20, result.p99Ms(), EPSILON);
+		assertEquals(20, result.maxMs(), EPSILON);
+		assertEquals(0, result.stutters());
+	}
+	
+	@Test
+	void lowsAndStutters() {
+		// 990 frames at 10 ms, 9 at 50 ms and one at 100 ms
+		long[] frames = new long[1000];
+		Arrays.fill(frames, 10_000);
+		Arrays.fill(frames, 990, 999, 50_000);
+		frames[999] = 100_000;
+		shuffle(frames);
+		
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(frames, frames.length, THRESHOLD);
+		
+		assertEquals(1000, result.frames());
+		assertEquals(10.45, result.durationSeconds(), EPSILON);
+		assertEquals(1000 / 10.45, result.averageFps(), EPSILON);
+		// Slowest 10 frames average 55 ms, the slowest single frame is 100 ms
+		assertEquals(1_000_000.0 / 55_000, result.onePercentLowFps(), EPSILON);
+		assertEquals(10, result.pointOnePercentLowFps(), EPSILON);
+		// 50 ms is not over the 50 ms threshold, so only the 100 ms frame is a stutter
+		assertEquals(1, result.stutters());
+		assertEquals(10, BenchmarkStatistics.compute(frames, frames.length, 40_000).stutters());
+	}
+	
+	@Test
+	void lowsRoundTheFrameCountUp() {
+		// 1% of 150 frames is 1.5, so the two slowest frames count
+		long[] frames = new long[150];
+		Arrays.fill(frames, 10_000);
+		frames[10] = 20_000;
+		frames[100] = 40_000;
+		
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(frames, frames.length, THRESHOLD);
+		
+		assertEquals(1_000_000.0 / 30_000, result.onePercentLowFps(), EPSILON);
+		assertEquals(25, result.pointOnePercentLowFps(), EPSILON);
+	}
+	
+	@Test
+	void percentiles() {
+		// 1 ms to 100 ms in steps of 1 ms
+		long[] frames = new long[100];
+		for (int i = 0; i < frames.length; i++) {
+			frames[i] = (i + 1) * 1000L;
+		}
+		shuffle(frames);
+		long[] original = frames.clone();
+		
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(frames, frames.length, THRESHOLD);
+		
+		assertEquals(50, result.p50Ms(), EPSILON);
+		assertEquals(95, result.p95Ms(), EPSILON);
+		assertEquals(99, result.p99Ms(), EPSILON);
+		assertEquals(100, result.maxMs(), EPSILON);
+		assertEquals(50, result.stutters());
+		assertEquals(Arrays.toString(original), Arrays.toString(frames), "input array was modified");
+	}
+	
+	@Test
+	void onlyTheFirstCountEntriesAreUsed() {
+		long[] frames = {10_000, 10_000, 500_000, 500_000};
+		
+		BenchmarkStatistics.Result result = BenchmarkStatistics.compute(frames, 2, THRESHOLD);
+		
+		assertEquals(2, result.frames());
+		assertEquals(10, result.maxMs(), EPSILON);
+		assertEquals(0, result.stutters());
+	}
+	
+	@Test
+	void histogramBuckets() {
+		// One frame per bucket: bounds are inclusive at the bottom of each bucket
+		long[] bounds = BenchmarkStatistics.getHistogramBounds();
+		long[] frames = new long[bounds.length + 1];
+		frames[0] = 1;
+		System.arraycopy(bounds, 0, frames, 1, bounds.length);
+		
+		int[] histogram = BenchmarkStatistics.compute(frames, frames.length, THRESHOLD).histogram();
+		
+		assertEquals(bounds.length + 1, histogram.length);
+		for (int i = 0; i < histogram.length; i++) {
+			assertEquals(1, histogram[i], "bucket " + i);
+		}
+	}
+	
+	/**
+	 * Deterministic shuffle, so results don't depend on input order.
+	 */
+	private static void shuffle(long[] values) {
+		Random random = new Random(42);
+		for (int i = values.length - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			long swap = values[i];
+			values[i] = values[j];
+			values[j] = swap;
+		}
+	}
+}
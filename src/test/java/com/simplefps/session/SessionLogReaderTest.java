@@ -0,0 +1,95 @@
+package com.simplefps.session;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Session logs written record by record and read back, including gaps and
+ * logs in the version 1 format.
+ */
+class SessionLogReaderTest {
+	
+	@Test
+	void framesMarkersAndGaps() throws IOException {
+		ByteBuffer buffer = newLog(SessionLog.VERSION);
+		SessionLog.writeRecord(buffer, 1000, SessionLog.FRAME);
+		SessionLog.writeRecord(buffer, 16_000, SessionLog.FRAME);
+		SessionLog.writeRecord(buffer, 500, SessionLog.MARKER);
+		SessionLog.writeRecord(buffer, 16_500, SessionLog.FRAME);
+		SessionLog.writeRecord(buffer, 8_000_000, SessionLog.GAP); // HUD hidden for 8 s
+		SessionLog.writeRecord(buffer, 20_000, SessionLog.FRAME);
+		
+		List<String> records = read(buffer);
+		
+		assertEquals(List.of(
+			"frame 1000 -1",
+			"frame 17000 16000",
+			"marker 17500 1",
+			"frame 34000 17000",
+			"gap 8034000 8000000",
+			"frame 8054000 20000"), records);
+	}
+	
+	@Test
+	void gapBeforeTheFirstFrame() throws IOException {
+		ByteBuffer buffer = newLog(SessionLog.VERSION);
+		SessionLog.writeRecord(buffer, 6_000_000, SessionLog.GAP);
+		SessionLog.writeRecord(buffer, 10_000, SessionLog.FRAME);
+		
+		assertEquals(List.of("gap 6000000 -1", "frame 6010000 10000"), read(buffer));
+	}
+	
+	@Test
+	void versionOneLogsUseOneMarkerBit() throws IOException {
+		ByteBuffer buffer = newLog((short) 1);
+		SessionLog.writeVarLong(buffer, 1000 << 1);
+		SessionLog.writeVarLong(buffer, (16_000 << 1) | 1);
+		SessionLog.writeVarLong(buffer, 4000 << 1);
+		
+		assertEquals(List.of("frame 1000 -1", "marker 17000 1", "frame 21000 20000"), read(buffer));
+	}
+	
+	@Test
+	void truncatedRecordIsIgnored() throws IOException {
+		ByteBuffer buffer = newLog(SessionLog.VERSION);
+		SessionLog.writeRecord(buffer, 1000, SessionLog.FRAME);
+		buffer.put((byte) 0x80); // First byte of a varint that never ends
+		
+		assertEquals(List.of("frame 1000 -1"), read(buffer));
+	}
+	
+	private static ByteBuffer newLog(short version) {
+		ByteBuffer buffer = ByteBuffer.allocate(256);
+		SessionLog.writeHeader(buffer, 0, "test");
+		buffer.putShort(4, version);
+		return buffer;
+	}
+	
+	private static List<String> read(ByteBuffer buffer) throws IOException {
+		List<String> records = new ArrayList<>();
+		buffer.flip();
+		SessionLogReader.read(buffer, new SessionLogReader.Visitor() {
+			@Override
+			public void frame(long timestampMicros, long frameMicros) {
+				records.add("frame " + timestampMicros + " " + frameMicros);
+			}
+			
+			@Override
+			public void marker(long timestampMicros, int number) {
+				records.add("marker " + timestampMicros + " " + number);
+			}
+			
+			@Override
+			public void gap(long timestampMicros, long gapMicros) {
+				records.add("gap " + timestampMicros + " " + gapMicros);
+			}
+		});
+		return records;
+	}
+}
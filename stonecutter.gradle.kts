@@ -8,3 +8,8 @@ stonecutter registerChiseled tasks.register("buildAllVersions", stonecutter.chis
     group = "build"
     ofTask("build")
 }
+
+stonecutter registerChiseled tasks.register("jmhAllVersions", stonecutter.chiseled) {
+    group = "benchmark"
+    ofTask("jmh")
+}